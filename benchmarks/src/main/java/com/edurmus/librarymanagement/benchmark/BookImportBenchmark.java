@@ -0,0 +1,101 @@
+package com.edurmus.librarymanagement.benchmark;
+
+import com.edurmus.librarymanagement.LibrarymanagementApplication;
+import com.edurmus.librarymanagement.model.dto.response.BookImportResponse;
+import com.edurmus.librarymanagement.model.enums.BookGenre;
+import com.edurmus.librarymanagement.model.enums.ImportFormat;
+import com.edurmus.librarymanagement.service.BookImportService;
+import com.edurmus.librarymanagement.service.index.BookSearchIndex;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A CSV import of {@link #ROWS} new books per operation through {@link BookImportService}, on an embedded PostgreSQL
+ * migrated by Liquibase. Parsing, validation, the ISBN lookup, the inserts and search index maintenance are all
+ * included, so the score is the rows/s an upload gets. {@code strategy} picks COPY or JDBC statement batches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BookImportBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    @Param({"COPY", "BATCH"})
+    public String strategy;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private BookImportService bookImportService;
+    private byte[] csv;
+    private long nextIsbn = 9_780_000_000_000L;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        // Passed as arguments so they override application.yml, which activates the dev profile
+        context = new SpringApplicationBuilder(LibrarymanagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.profiles.active=dev", "--spring.datasource.username=postgres",
+                        "--spring.datasource.url=jdbc:postgresql://localhost:" + postgres.getPort()
+                                + "/postgres?reWriteBatchedInserts=true",
+                        "--library.books.import.strategy=" + strategy,
+                        "--logging.level.root=WARN", "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.com.edurmus=WARN");
+        bookImportService = context.getBean(BookImportService.class);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("user", null,
+                List.of(new SimpleGrantedAuthority("ROLE_LIBRARIAN"))));
+    }
+
+    // Every import needs ISBNs the catalog does not have yet
+    @Setup(Level.Invocation)
+    public void nextCsv() {
+        StringBuilder builder = new StringBuilder("title,author,isbn,publishedDate,price,genre\n");
+        for (int i = 0; i < ROWS; i++) {
+            long isbn = nextIsbn++;
+            builder.append("Imported title ").append(isbn).append(",Author ").append(isbn % 100).append(',')
+                    .append(isbn).append(",2000-01-01,10.00,")
+                    .append(BookGenre.values()[(int) (isbn % BookGenre.values().length)]).append('\n');
+        }
+        csv = builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown(Level.Iteration)
+    public void cleanUp() {
+        context.getBean(JdbcTemplate.class).update("DELETE FROM book");
+        context.getBean(BookSearchIndex.class).rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        SecurityContextHolder.clearContext();
+        context.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public BookImportResponse importCsv() {
+        BookImportResponse report = bookImportService.importBooks(new ByteArrayInputStream(csv), ImportFormat.CSV);
+        if (report.imported() != ROWS) {
+            throw new IllegalStateException("Imported " + report.imported() + " of " + ROWS + " rows: " + report.errors());
+        }
+        return report;
+    }
+}
@@ -0,0 +1,90 @@
+package com.edurmus.librarymanagement.benchmark;
+
+import com.edurmus.librarymanagement.model.dto.request.BookSearchRequest;
+import com.edurmus.librarymanagement.model.entity.Book;
+import com.edurmus.librarymanagement.model.enums.BookGenre;
+import com.edurmus.librarymanagement.service.index.BookSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maintaining and querying the in-memory book search index at catalog size. Updates and deletes hit random books, so
+ * they land in the middle of the postings of common grams such as " of" or the genres, unlike the appends of an
+ * import.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class BookSearchIndexBenchmark {
+
+    private static final String[] ADJECTIVES = {"Silent", "Hidden", "Burning", "Frozen", "Golden", "Broken",
+            "Distant", "Crimson", "Wandering", "Forgotten"};
+    private static final String[] NOUNS = {"Harbor", "Garden", "Kingdom", "River", "Mirror", "Lantern", "Forest",
+            "Tower", "Island", "Voyage"};
+    private static final String[] PLACES = {"Avalon", "Babylon", "Cordoba", "Istanbul", "Kyoto", "Lisbon"};
+    private static final String[] FIRST_NAMES = {"Ada", "Ahmet", "Alice", "Amir", "Anna", "Ayse", "Ben", "Carlos"};
+    private static final String[] LAST_NAMES = {"Abbott", "Aydin", "Baker", "Celik", "Costa", "Demir", "Dubois"};
+    private static final BookGenre[] GENRES = BookGenre.values();
+
+    @Param({"1000000"})
+    private int books;
+
+    private BookSearchIndex index;
+    private SplittableRandom random;
+    private BookSearchRequest titleSearch;
+
+    @Setup
+    public void setup() {
+        index = new BookSearchIndex(null);
+        random = new SplittableRandom(42);
+        for (long id = 1; id <= books; id++) {
+            index.index(book(id, random));
+        }
+        titleSearch = new BookSearchRequest("river of", null, null, null);
+    }
+
+    // Reindexes a random book under a new title, as an edit through the API does
+    @Benchmark
+    public void update() {
+        index.index(book(1 + random.nextInt(books), random));
+    }
+
+    // Deletes a random book and adds it back, so the index keeps its size
+    @Benchmark
+    public void deleteAndReinsert() {
+        long id = 1 + random.nextInt(books);
+        index.remove(id);
+        index.index(book(id, random));
+    }
+
+    // The first page of a common title search after a random id
+    @Benchmark
+    public List<Long> search() {
+        return index.search(titleSearch, random.nextInt(books)).limit(20).toList();
+    }
+
+    private static Book book(long id, SplittableRandom random) {
+        String title = pick(random, ADJECTIVES) + " " + pick(random, NOUNS);
+        if (random.nextBoolean()) {
+            title += " of " + pick(random, PLACES);
+        }
+        Book book = Book.builder()
+                .title(title)
+                .author(pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES))
+                .isbn(String.format("978%010d", id))
+                .genre(GENRES[random.nextInt(GENRES.length)])
+                .build();
+        book.setId(id);
+        return book;
+    }
+
+    private static <T> T pick(SplittableRandom random, T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,55 @@
+package com.edurmus.librarymanagement.benchmark;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * No-op JPA criteria objects, so specification benchmarks measure the specification itself rather than Hibernate.
+ * Every interface-returning call answers with a shared stub of that interface.
+ */
+final class CriteriaStubs {
+
+    private static final Map<Class<?>, Object> STUBS = new ConcurrentHashMap<>();
+
+    private CriteriaStubs() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> Root<T> root() {
+        return stub(Root.class);
+    }
+
+    static CriteriaQuery<?> query() {
+        return stub(CriteriaQuery.class);
+    }
+
+    static CriteriaBuilder builder() {
+        return stub(CriteriaBuilder.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <S> S stub(Class<S> type) {
+        return (S) STUBS.computeIfAbsent(type, CriteriaStubs::newStub);
+    }
+
+    private static Object newStub(Class<?> type) {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Class<?> returnType = method.getReturnType();
+            if (returnType.isInterface()) {
+                return stub(returnType);
+            }
+            if (returnType == boolean.class) {
+                return false;
+            }
+            if (returnType == int.class) {
+                return System.identityHashCode(proxy);
+            }
+            return null;
+        });
+    }
+}
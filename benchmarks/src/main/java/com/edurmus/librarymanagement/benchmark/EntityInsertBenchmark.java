@@ -0,0 +1,134 @@
+package com.edurmus.librarymanagement.benchmark;
+
+import com.edurmus.librarymanagement.LibrarymanagementApplication;
+import com.edurmus.librarymanagement.model.entity.Book;
+import com.edurmus.librarymanagement.model.entity.Borrowing;
+import com.edurmus.librarymanagement.model.entity.User;
+import com.edurmus.librarymanagement.model.enums.BookGenre;
+import com.edurmus.librarymanagement.model.enums.BorrowingStatus;
+import com.edurmus.librarymanagement.repository.BookRepository;
+import com.edurmus.librarymanagement.repository.BorrowingRepository;
+import com.edurmus.librarymanagement.repository.UserRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserts through Spring Data {@code saveAll}, one transaction of {@link #ROWS} entities per operation,
+ * on the local H2 database or an embedded PostgreSQL migrated by Liquibase. {@code batchSize=1} turns JDBC
+ * batching off; running the benchmark on a build that still maps the ids as IDENTITY gives the baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+// Hibernate's insert path takes a while to get compiled, shorter warmups still show it speeding up
+@Warmup(iterations = 10, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EntityInsertBenchmark {
+
+    private static final int ROWS = 1_000;
+
+    @Param({"h2", "postgres"})
+    public String database;
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private BookRepository bookRepository;
+    private BorrowingRepository borrowingRepository;
+    private User user;
+    private List<Book> borrowedBooks;
+    private long nextIsbn = 9_780_000_000_000L;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        // Passed as arguments so they override application.yml, which activates the dev profile
+        List<String> args = new ArrayList<>(List.of("--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                "--logging.level.root=WARN", "--logging.level.org.hibernate.SQL=WARN", "--logging.level.com.edurmus=WARN"));
+        if (database.equals("postgres")) {
+            postgres = EmbeddedPostgres.start();
+            args.addAll(List.of("--spring.profiles.active=dev", "--spring.datasource.username=postgres",
+                    "--spring.datasource.url=jdbc:postgresql://localhost:" + postgres.getPort()
+                            + "/postgres?reWriteBatchedInserts=true"));
+        } else {
+            args.add("--spring.profiles.active=local");
+        }
+        context = new SpringApplicationBuilder(LibrarymanagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(String[]::new));
+        bookRepository = context.getBean(BookRepository.class);
+        borrowingRepository = context.getBean(BorrowingRepository.class);
+        user = context.getBean(UserRepository.class).findByUsername("user").orElseThrow();
+        borrowedBooks = bookRepository.saveAll(newBooks(100));
+    }
+
+    @TearDown(Level.Iteration)
+    public void cleanUp() {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("DELETE FROM borrowing");
+        jdbcTemplate.update("DELETE FROM book WHERE id > ?", borrowedBooks.get(borrowedBooks.size() - 1).getId());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<Book> insertBooks() {
+        return bookRepository.saveAll(newBooks(ROWS));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<Borrowing> insertBorrowings() {
+        List<Borrowing> borrowings = new ArrayList<>(ROWS);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < ROWS; i++) {
+            borrowings.add(Borrowing.builder()
+                    .user(user)
+                    .book(borrowedBooks.get(i % borrowedBooks.size()))
+                    .status(BorrowingStatus.BORROWED)
+                    .borrowingDate(now)
+                    .dueDate(now.plusDays(14))
+                    .fine(BigDecimal.ZERO)
+                    .build());
+        }
+        return borrowingRepository.saveAll(borrowings);
+    }
+
+    private List<Book> newBooks(int count) {
+        List<Book> books = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long isbn = nextIsbn++;
+            books.add(Book.builder()
+                    .title("Benchmark title " + isbn)
+                    .author("Author " + (isbn % 100))
+                    .isbn(String.valueOf(isbn))
+                    .publishedDate(LocalDate.of(2000, 1, 1))
+                    .price(BigDecimal.TEN)
+                    .genre(BookGenre.values()[(int) (isbn % BookGenre.values().length)])
+                    .isAvailable(true)
+                    .build());
+        }
+        return books;
+    }
+}
@@ -0,0 +1,62 @@
+package com.edurmus.librarymanagement.benchmark;
+
+import com.edurmus.librarymanagement.model.entity.Borrowing;
+import com.edurmus.librarymanagement.util.FineCalculator;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The fine of one late return, and the total fine of {@code borrowings} returns of which every tenth has none.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FineCalculatorBenchmark {
+
+    private LocalDateTime dueDate;
+    private LocalDateTime returnDate;
+
+    @Setup
+    public void setup() {
+        dueDate = LocalDateTime.of(2026, 1, 1, 10, 0);
+        returnDate = dueDate.plusDays(9).plusHours(3);
+    }
+
+    // A state of its own so that only the total is run once per history size
+    @State(Scope.Benchmark)
+    public static class History {
+
+        @Param({"10", "1000"})
+        public int borrowings;
+
+        private List<Borrowing> returns;
+
+        @Setup
+        public void setup() {
+            returns = new ArrayList<>(borrowings);
+            for (int i = 0; i < borrowings; i++) {
+                returns.add(Borrowing.builder()
+                        .fine(i % 10 == 0 ? null : new BigDecimal(i % 7 * 2).setScale(2))
+                        .build());
+            }
+        }
+    }
+
+    @Benchmark
+    public BigDecimal calculateOverdueFine() {
+        return FineCalculator.calculateOverdueFine(dueDate, returnDate);
+    }
+
+    @Benchmark
+    public BigDecimal calculateTotalFine(History history) {
+        return FineCalculator.calculateTotalFine(history.returns);
+    }
+}
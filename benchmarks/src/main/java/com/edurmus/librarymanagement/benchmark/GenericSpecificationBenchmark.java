@@ -0,0 +1,52 @@
+package com.edurmus.librarymanagement.benchmark;
+
+import com.edurmus.librarymanagement.model.dto.request.BookSearchRequest;
+import com.edurmus.librarymanagement.model.entity.Book;
+import com.edurmus.librarymanagement.model.enums.BookGenre;
+import com.edurmus.librarymanagement.service.specification.GenericSpecification;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning a BookSearchRequest into predicates: reflective baseline against the cached search plan.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GenericSpecificationBenchmark {
+
+    private BookSearchRequest request;
+    private Root<Book> root;
+    private CriteriaQuery<?> query;
+    private CriteriaBuilder builder;
+
+    @Setup
+    public void setup() {
+        request = new BookSearchRequest("clean", "martin", null, BookGenre.EDUCATION);
+        root = CriteriaStubs.root();
+        query = CriteriaStubs.query();
+        builder = CriteriaStubs.builder();
+    }
+
+    @Benchmark
+    public Predicate reflective() {
+        return new ReflectiveSpecification<BookSearchRequest, Book>()
+                .build(request)
+                .toPredicate(root, query, builder);
+    }
+
+    @Benchmark
+    public Predicate cachedPlan() {
+        return new GenericSpecification<BookSearchRequest, Book>()
+                .build(request)
+                .toPredicate(root, query, builder);
+    }
+}
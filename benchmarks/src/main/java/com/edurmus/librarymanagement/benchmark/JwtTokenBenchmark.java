@@ -0,0 +1,140 @@
+package com.edurmus.librarymanagement.benchmark;
+
+import com.edurmus.librarymanagement.config.JwtAuthenticationProperties;
+import com.edurmus.librarymanagement.model.entity.Role;
+import com.edurmus.librarymanagement.model.entity.User;
+import com.edurmus.librarymanagement.model.enums.AuthenticationMode;
+import com.edurmus.librarymanagement.model.enums.UserRole;
+import com.edurmus.librarymanagement.model.projection.UserRoleStatus;
+import com.edurmus.librarymanagement.repository.UserRepository;
+import com.edurmus.librarymanagement.security.JwtAuthenticationFilter;
+import com.edurmus.librarymanagement.security.UserStatusCache;
+import com.edurmus.librarymanagement.security.VerifiedTokenCache;
+import com.edurmus.librarymanagement.util.JwtUtil;
+import com.edurmus.librarymanagement.util.VerifiedToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of issuing a token at login, and of the bearer token path of JwtAuthenticationFilter: the old three parses per
+ * request against one verified parse and a verified token cache hit, plus the whole filter in claims mode with warm caches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenBenchmark {
+
+    private static final String USERNAME = "benchmark_user";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private LegacyJwtUtil legacyJwtUtil;
+    private JwtUtil jwtUtil;
+    private VerifiedTokenCache verifiedTokenCache;
+    private User user;
+    private String token;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setup() {
+        legacyJwtUtil = new LegacyJwtUtil();
+        jwtUtil = new JwtUtil();
+
+        user = new User();
+        user.setUsername(USERNAME);
+        user.setRoles(Set.of(Role.builder().userRole(UserRole.ROLE_PATRON).build()));
+        token = jwtUtil.generateToken(user);
+
+        JwtAuthenticationProperties properties = new JwtAuthenticationProperties(AuthenticationMode.CLAIMS,
+                Duration.ofHours(1), 1000, Duration.ofMinutes(5), 1000);
+        UserStatusCache userStatusCache = new UserStatusCache(patronRepository(), properties);
+        verifiedTokenCache = new VerifiedTokenCache(jwtUtil, properties, new SimpleMeterRegistry());
+        filter = new JwtAuthenticationFilter(jwtUtil, verifiedTokenCache, username -> user, userStatusCache, properties);
+
+        request = new MockHttpServletRequest("GET", "/api/books/1");
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token, user);
+    }
+
+    @Benchmark
+    public List<String> legacyThreeParses() {
+        String username = legacyJwtUtil.extractUsername(token);
+        if (username == null || legacyJwtUtil.isTokenExpired(token)) {
+            return List.of();
+        }
+        return legacyJwtUtil.extractRoles(token);
+    }
+
+    @Benchmark
+    public VerifiedToken singleVerifiedParse() {
+        return jwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public VerifiedToken cachedVerifiedToken() {
+        return verifiedTokenCache.verify(token);
+    }
+
+    @Benchmark
+    public Authentication filterClaimsMode() throws Exception {
+        try {
+            filter.doFilter(request, response, NO_OP_CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    // Only the status lookup is needed, and the cache keeps it warm after the first call
+    private static UserRepository patronRepository() {
+        UserRoleStatus patron = new UserRoleStatus() {
+            @Override
+            public boolean isEnabled() {
+                return true;
+            }
+
+            @Override
+            public boolean isActive() {
+                return true;
+            }
+
+            @Override
+            public UserRole getUserRole() {
+                return UserRole.ROLE_PATRON;
+            }
+        };
+        return (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("findRoleStatusByUsername")) {
+                        return List.of(patron);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,38 @@
+package com.edurmus.librarymanagement.benchmark;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Token handling as it was before the single parse: every claim lookup builds a parser and verifies the signature.
+ * Kept only as the baseline of {@link JwtTokenBenchmark}.
+ */
+class LegacyJwtUtil {
+
+    private final Key key = Keys.hmacShaKeyFor("your-256-bit-secret-key-here-your-256-bit-secret-key".getBytes());
+
+    String extractUsername(String token) {
+        return extractClaim(token, Claims::getSubject);
+    }
+
+    boolean isTokenExpired(String token) {
+        return extractClaim(token, Claims::getExpiration).before(new Date());
+    }
+
+    @SuppressWarnings("unchecked")
+    List<String> extractRoles(String token) {
+        return extractClaim(token, claims -> claims.get("roles", List.class));
+    }
+
+    @SuppressWarnings("deprecation")
+    private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
+        Claims claims = Jwts.parser().setSigningKey(key).build().parseClaimsJws(token).getBody();
+        return claimsResolver.apply(claims);
+    }
+}
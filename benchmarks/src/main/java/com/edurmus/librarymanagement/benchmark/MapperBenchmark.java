@@ -0,0 +1,124 @@
+package com.edurmus.librarymanagement.benchmark;
+
+import com.edurmus.librarymanagement.model.dto.request.BookRequest;
+import com.edurmus.librarymanagement.model.dto.response.BookResponse;
+import com.edurmus.librarymanagement.model.dto.response.BorrowingDTO;
+import com.edurmus.librarymanagement.model.dto.response.BorrowingSuccessResponse;
+import com.edurmus.librarymanagement.model.entity.Book;
+import com.edurmus.librarymanagement.model.entity.Borrowing;
+import com.edurmus.librarymanagement.model.entity.User;
+import com.edurmus.librarymanagement.model.enums.BookGenre;
+import com.edurmus.librarymanagement.model.enums.BorrowingStatus;
+import com.edurmus.librarymanagement.model.mapper.BookMapper;
+import com.edurmus.librarymanagement.model.mapper.BorrowingMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The MapStruct conversions behind the book and borrowing endpoints, one entity or request at a time and a
+ * page of {@link #PAGE_SIZE} borrowings as the history endpoint maps it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private final BookMapper bookMapper = BookMapper.INSTANCE;
+    private final BorrowingMapper borrowingMapper = BorrowingMapper.INSTANCE;
+
+    private BookRequest bookRequest;
+    private BookRequest partialRequest;
+    private Book book;
+    private Borrowing borrowing;
+    private List<Borrowing> page;
+
+    @Setup
+    public void setup() {
+        bookRequest = new BookRequest("Clean Code", "Robert C. Martin", "9780132350884", LocalDate.of(2008, 8, 1),
+                42.5, "EDUCATION", "A handbook of agile software craftsmanship");
+        partialRequest = new BookRequest(null, null, null, null, 39.9, null, "Second printing");
+
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("patron1");
+        user.setEmail("patron1@example.com");
+        user.setFirstName("Ada");
+        user.setLastName("Yilmaz");
+
+        page = new ArrayList<>(PAGE_SIZE);
+        LocalDateTime borrowed = LocalDateTime.of(2026, 1, 1, 10, 0);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Book pageBook = book(i);
+            Borrowing pageBorrowing = Borrowing.builder()
+                    .user(user)
+                    .book(pageBook)
+                    .status(i % 4 == 0 ? BorrowingStatus.BORROWED : BorrowingStatus.RETURNED)
+                    .borrowingDate(borrowed.plusDays(i))
+                    .dueDate(borrowed.plusDays(i + 14))
+                    .returnDate(i % 4 == 0 ? null : borrowed.plusDays(i + 10))
+                    .fine(BigDecimal.ZERO)
+                    .build();
+            pageBorrowing.setId((long) i + 1);
+            page.add(pageBorrowing);
+        }
+        book = page.get(0).getBook();
+        borrowing = page.get(0);
+    }
+
+    @Benchmark
+    public Book bookRequestToEntity() {
+        return bookMapper.toEntity(bookRequest);
+    }
+
+    @Benchmark
+    public BookResponse bookToDto() {
+        return bookMapper.toDto(book);
+    }
+
+    @Benchmark
+    public Book updateBookEntity() {
+        Book target = new Book();
+        bookMapper.updateEntity(target, partialRequest);
+        return target;
+    }
+
+    @Benchmark
+    public BorrowingSuccessResponse borrowingToSuccessResponse() {
+        return borrowingMapper.toSuccessResponse(borrowing);
+    }
+
+    @Benchmark
+    public BorrowingDTO borrowingToDto() {
+        return borrowingMapper.toDto(borrowing);
+    }
+
+    @Benchmark
+    public List<BorrowingDTO> borrowingHistoryPage() {
+        return page.stream().map(borrowingMapper::toDto).toList();
+    }
+
+    private static Book book(int i) {
+        Book book = Book.builder()
+                .title("Benchmark title " + i)
+                .author("Author " + i)
+                .isbn(String.valueOf(9_780_000_000_000L + i))
+                .publishedDate(LocalDate.of(2000, 1, 1).plusDays(i))
+                .price(new BigDecimal("24.90"))
+                .description("Description of benchmark title " + i)
+                .genre(BookGenre.values()[i % BookGenre.values().length])
+                .build();
+        book.setId((long) i + 1);
+        return book;
+    }
+}
@@ -0,0 +1,48 @@
+package com.edurmus.librarymanagement.benchmark;
+
+import com.edurmus.librarymanagement.LibrarymanagementApplication;
+import com.edurmus.librarymanagement.service.BorrowingService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The whole overdue report on the local H2 database filled by the synthetic data profile: the summary query and one
+ * formatted line per patron with late returns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OverdueReportBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private BorrowingService borrowingService;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // Passed as arguments so they override application.yml, which activates the dev profile
+        context = new SpringApplicationBuilder(LibrarymanagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.profiles.active=local,synthetic-data", "--library.synthetic-data.users=5000",
+                        "--library.synthetic-data.books=20000", "--library.synthetic-data.borrowings=100000",
+                        "--library.synthetic-data.reference-date=2026-01-01", "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN", "--logging.level.com.edurmus=WARN");
+        borrowingService = context.getBean(BorrowingService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String generateOverdueReport() {
+        return borrowingService.generateOverdueReport();
+    }
+}
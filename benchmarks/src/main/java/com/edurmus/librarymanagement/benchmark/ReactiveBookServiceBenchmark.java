@@ -0,0 +1,90 @@
+package com.edurmus.librarymanagement.benchmark;
+
+import com.edurmus.librarymanagement.LibrarymanagementApplication;
+import com.edurmus.librarymanagement.model.dto.response.BookResponse;
+import com.edurmus.librarymanagement.model.entity.Book;
+import com.edurmus.librarymanagement.model.enums.BookGenre;
+import com.edurmus.librarymanagement.repository.BookRepository;
+import com.edurmus.librarymanagement.service.ReactiveBookService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The reactive book service on the local H2 database, JPA on the book-fetch scheduler against R2DBC.
+ * Each operation issues {@code concurrency} lookups at once, which is where the bounded scheduler of the
+ * JPA variant queues while R2DBC only waits for pooled connections.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReactiveBookServiceBenchmark {
+
+    private static final int BOOKS = 2_000;
+
+    @Param({"jpa", "r2dbc"})
+    public String implementation;
+
+    @Param({"1", "64"})
+    public int concurrency;
+
+    private ConfigurableApplicationContext context;
+    private ReactiveBookService reactiveBookService;
+    private long firstId;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // Passed as arguments so they override application.yml, which activates the dev profile
+        String profiles = implementation.equals("r2dbc") ? "local,r2dbc" : "local";
+        context = new SpringApplicationBuilder(LibrarymanagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.profiles.active=" + profiles, "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN", "--logging.level.com.edurmus=WARN");
+        reactiveBookService = context.getBean(ReactiveBookService.class);
+
+        List<Book> books = new ArrayList<>(BOOKS);
+        for (int i = 0; i < BOOKS; i++) {
+            books.add(Book.builder()
+                    .title("Benchmark title " + i)
+                    .author("Author " + (i % 100))
+                    .isbn(String.valueOf(9_780_000_000_000L + i))
+                    .publishedDate(LocalDate.of(2000, 1, 1).plusDays(i))
+                    .price(BigDecimal.TEN)
+                    .genre(BookGenre.values()[i % BookGenre.values().length])
+                    .isAvailable(i % 3 != 0)
+                    .build());
+        }
+        firstId = context.getBean(BookRepository.class).saveAll(books).get(0).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BookResponse> getById() {
+        return Flux.range(0, concurrency)
+                .flatMap(i -> reactiveBookService.getById(firstId + ThreadLocalRandom.current().nextInt(BOOKS)), concurrency)
+                .collectList()
+                .block();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BOOKS)
+    public Long streamAvailableBooks() {
+        return reactiveBookService.findByIsAvailable().count().block();
+    }
+}
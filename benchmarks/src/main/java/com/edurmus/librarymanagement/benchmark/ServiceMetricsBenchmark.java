@@ -0,0 +1,62 @@
+package com.edurmus.librarymanagement.benchmark;
+
+import com.edurmus.librarymanagement.metrics.ServiceMetricsAspect;
+import com.edurmus.librarymanagement.model.dto.response.BookResponse;
+import com.edurmus.librarymanagement.service.BookService;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What ServiceMetricsAspect adds to a service call: the same proxied no-op service with and without the aspect,
+ * recording into a Prometheus registry with histogram buckets as configured in application.yml.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServiceMetricsBenchmark {
+
+    private BookService plain;
+    private BookService timed;
+
+    @Setup
+    public void setup() {
+        BookResponse book = new BookResponse(1L, "Clean Code", "Robert C. Martin", "9780132350884", null, 42.5,
+                null, null, true);
+        BookService service = (BookService) Proxy.newProxyInstance(BookService.class.getClassLoader(),
+                new Class<?>[]{BookService.class}, (proxy, method, args) -> book);
+
+        PrometheusMeterRegistry meterRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        meterRegistry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                return DistributionStatisticConfig.builder().percentilesHistogram(true).build().merge(config);
+            }
+        });
+
+        plain = new AspectJProxyFactory(service).getProxy();
+        AspectJProxyFactory factory = new AspectJProxyFactory(service);
+        factory.addAspect(new ServiceMetricsAspect(meterRegistry));
+        timed = factory.getProxy();
+    }
+
+    @Benchmark
+    public BookResponse withoutMetrics() {
+        return plain.getById(1L);
+    }
+
+    @Benchmark
+    public BookResponse withMetrics() {
+        return timed.getById(1L);
+    }
+}
@@ -0,0 +1,43 @@
+package com.edurmus.librarymanagement.benchmark;
+
+import com.edurmus.librarymanagement.model.entity.User;
+import com.edurmus.librarymanagement.util.StringUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Formatting one patron line of the overdue report, from the summary projection and from a user entity.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringUtilsBenchmark {
+
+    private User user;
+    private BigDecimal totalFine;
+
+    @Setup
+    public void setup() {
+        user = new User();
+        user.setFirstName("Ada");
+        user.setLastName("Yilmaz");
+        user.setEmail("patron1@example.com");
+        totalFine = new BigDecimal("36.00");
+    }
+
+    @Benchmark
+    public String formatUserOverdueLine() {
+        return StringUtils.formatUserOverdueLine(user.getFirstName(), user.getLastName(), user.getEmail(), 3L,
+                totalFine);
+    }
+
+    @Benchmark
+    public String formatUserOverdueLineFromUser() {
+        return StringUtils.formatUserOverdueLine(user, 3, totalFine);
+    }
+}
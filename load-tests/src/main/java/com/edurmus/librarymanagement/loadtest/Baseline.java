@@ -0,0 +1,53 @@
+package com.edurmus.librarymanagement.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * SLOs derived from a recorded run, the result JSON an earlier load test wrote. Every request it measured may take at
+ * most {@code 1 + tolerance} times its recorded p99 and has to reach {@code 1 - tolerance} times its recorded
+ * throughput.
+ */
+public class Baseline {
+
+    private final List<RequestStats> stats;
+
+    public Baseline(List<RequestStats> stats) {
+        this.stats = stats;
+    }
+
+    // A classpath resource, or else a file, e.g. the result of the previous run
+    public static Baseline read(String location, ObjectMapper objectMapper) {
+        try (InputStream resource = Baseline.class.getResourceAsStream("/" + location)) {
+            JsonNode result = resource != null
+                    ? objectMapper.readTree(resource)
+                    : objectMapper.readTree(Files.readAllBytes(Path.of(location)));
+            return new Baseline(List.of(objectMapper.treeToValue(result.get("stats"), RequestStats[].class)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the load test baseline " + location, e);
+        }
+    }
+
+    // In the format of the slo. settings, without the prefix
+    public Map<String, String> slos(double tolerance) {
+        if (tolerance < 0 || tolerance >= 1) {
+            throw new IllegalArgumentException("Baseline tolerance must be in [0, 1): " + tolerance);
+        }
+        Map<String, String> slos = new TreeMap<>();
+        for (RequestStats request : stats) {
+            String prefix = request.mix() + "." + request.request() + ".";
+            slos.put(prefix + "p99", String.valueOf(request.p99() * (1 + tolerance)));
+            slos.put(prefix + "throughput", String.valueOf(request.throughput() * (1 - tolerance)));
+        }
+        return slos;
+    }
+}
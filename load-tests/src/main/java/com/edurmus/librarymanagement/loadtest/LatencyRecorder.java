@@ -0,0 +1,76 @@
+package com.edurmus.librarymanagement.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects the latency of every measured request by request name. The samples are kept whole, so the percentiles are
+ * exact instead of bucketed; a run of a few minutes records a few million longs at most.
+ */
+public class LatencyRecorder {
+
+    private final Map<String, Samples> samplesByRequest = new ConcurrentHashMap<>();
+    private volatile boolean recording;
+    private long startNanos;
+    private long stopNanos;
+
+    public void start() {
+        startNanos = System.nanoTime();
+        recording = true;
+    }
+
+    public void stop() {
+        recording = false;
+        stopNanos = System.nanoTime();
+    }
+
+    public void record(String request, long nanos, boolean error) {
+        if (recording) {
+            samplesByRequest.computeIfAbsent(request, name -> new Samples()).add(nanos, error);
+        }
+    }
+
+    public List<RequestStats> stats(String mix) {
+        Duration elapsed = Duration.ofNanos(stopNanos - startNanos);
+        List<RequestStats> stats = new ArrayList<>();
+        samplesByRequest.forEach((request, samples) -> stats.add(samples.stats(mix, request, elapsed)));
+        stats.sort((left, right) -> left.request().compareTo(right.request()));
+        return stats;
+    }
+
+    private static class Samples {
+
+        private long[] nanos = new long[1024];
+        private int count;
+        private long errors;
+
+        synchronized void add(long sample, boolean error) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = sample;
+            if (error) {
+                errors++;
+            }
+        }
+
+        synchronized RequestStats stats(String mix, String request, Duration elapsed) {
+            long[] sorted = Arrays.copyOf(nanos, count);
+            Arrays.sort(sorted);
+            return new RequestStats(mix, request, count, errors, count / (elapsed.toNanos() / 1e9),
+                    millis(sorted, 0.5), millis(sorted, 0.99), millis(sorted, 0.999), millis(sorted, 1.0));
+        }
+
+        private static double millis(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1e6;
+        }
+    }
+}
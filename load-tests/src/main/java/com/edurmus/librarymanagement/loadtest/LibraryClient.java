@@ -0,0 +1,124 @@
+package com.edurmus.librarymanagement.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Sends the API requests of the load mixes and records each one under its name. A response with another status than
+ * the expected ones, or no response at all, counts as an error.
+ */
+public class LibraryClient {
+
+    private final HttpClient httpClient;
+    private final URI baseUri;
+    private final ObjectMapper objectMapper;
+    private final LatencyRecorder recorder;
+
+    public LibraryClient(HttpClient httpClient, URI baseUri, ObjectMapper objectMapper, LatencyRecorder recorder) {
+        this.httpClient = httpClient;
+        this.baseUri = baseUri;
+        this.objectMapper = objectMapper;
+        this.recorder = recorder;
+    }
+
+    public record Response(int status, JsonNode body) {
+
+        public boolean is(int expectedStatus) {
+            return status == expectedStatus;
+        }
+    }
+
+    public String login(String username, String password) {
+        Response response = post("login", "/auth/login", null, Map.of("username", username, "password", password), 200);
+        return response.is(200) ? response.body().get("token").asText() : null;
+    }
+
+    public Response get(String request, String path, String token, int... expectedStatuses) {
+        return send(status -> request, builder(path, token).GET().build(), expectedStatuses);
+    }
+
+    public Response post(String request, String path, String token, Object body, int... expectedStatuses) {
+        return post(status -> request, path, token, body, expectedStatuses);
+    }
+
+    // The request is named once its status is known, so that e.g. rejected borrows are reported on their own
+    public Response post(IntFunction<String> request, String path, String token, Object body, int... expectedStatuses) {
+        HttpRequest.Builder builder = builder(path, token);
+        if (body == null) {
+            builder.POST(HttpRequest.BodyPublishers.noBody());
+        } else {
+            builder.header("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofByteArray(toJson(body)));
+        }
+        return send(request, builder.build(), expectedStatuses);
+    }
+
+    public static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private HttpRequest.Builder builder(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private Response send(IntFunction<String> request, HttpRequest httpRequest, int... expectedStatuses) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofByteArray());
+            long elapsed = System.nanoTime() - start;
+            boolean expected = isExpected(response.statusCode(), expectedStatuses);
+            recorder.record(request.apply(response.statusCode()), elapsed, !expected);
+            return new Response(response.statusCode(), parse(response));
+        } catch (IOException e) {
+            recorder.record(request.apply(-1), System.nanoTime() - start, true);
+            return new Response(-1, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Response(-1, null);
+        }
+    }
+
+    private static boolean isExpected(int status, int... expectedStatuses) {
+        for (int expectedStatus : expectedStatuses) {
+            if (status == expectedStatus) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Error bodies are mostly plain text, only JSON is parsed
+    private JsonNode parse(HttpResponse<byte[]> response) {
+        boolean json = response.headers().firstValue("Content-Type").filter(type -> type.contains("json")).isPresent();
+        if (!json || response.body().length == 0) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(response.body());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not parse the response of " + response.uri(), e);
+        }
+    }
+
+    private byte[] toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not serialize request body", e);
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package com.edurmus.librarymanagement.loadtest;
+
+import com.edurmus.librarymanagement.LibrarymanagementApplication;
+import com.edurmus.librarymanagement.generator.SyntheticDataGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Boots the application on the local H2 profile filled by the synthetic data profile and drives the configured mixes
+ * against it, one after the other: a login storm, search heavy browsing, borrow/return contention on a few hot titles,
+ * and many concurrent connections doing book lookups. Each mix warms up, is measured, and reported per request; the
+ * run exits with 1 when an SLO is missed.
+ */
+public class LoadTest {
+
+    private static final String PATRON_PASSWORD = "patron123";
+    private static final String LIBRARIAN_USERNAME = "user";
+    private static final String LIBRARIAN_PASSWORD = "pw135!.";
+
+    private final LoadTestSettings settings;
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private URI baseUri;
+    private int patrons;
+
+    // Per VU setup, like logging in, runs before the warmup; the returned iteration runs until the mix ends
+    private interface VirtualUser {
+        Runnable start(LibraryClient client, int index);
+    }
+
+    public LoadTest(LoadTestSettings settings) {
+        this.settings = settings;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = new LoadTestSettings(args);
+        boolean passed;
+        try (ConfigurableApplicationContext context = boot(settings)) {
+            LoadTest loadTest = new LoadTest(settings);
+            loadTest.baseUri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+            loadTest.patrons = settings.getInt("synthetic.users");
+            passed = loadTest.run();
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    private static ConfigurableApplicationContext boot(LoadTestSettings settings) {
+        // Passed as arguments so they override application.yml, which activates the dev profile
+        return new SpringApplicationBuilder(LibrarymanagementApplication.class)
+                .run("--spring.profiles.active=" + settings.get("profiles"), "--server.port=0",
+                        "--management.server.port=0",
+                        "--library.synthetic-data.users=" + settings.get("synthetic.users"),
+                        "--library.synthetic-data.books=" + settings.get("synthetic.books"),
+                        "--library.synthetic-data.borrowings=" + settings.get("synthetic.borrowings"),
+                        "--library.synthetic-data.reference-date=" + LocalDate.now().minusDays(1),
+                        // no patron is disabled, so any of them can log in
+                        "--library.synthetic-data.late-return-ratio=0",
+                        "--library.synthetic-data.password=" + PATRON_PASSWORD,
+                        "--logging.level.root=WARN", "--logging.level.com.edurmus=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+    }
+
+    public boolean run() throws IOException, InterruptedException, ExecutionException {
+        List<String> mixes = settings.getList("mixes");
+        Catalog catalog = sampleCatalog();
+        List<Long> hotTitles = mixes.contains("contention")
+                ? createHotTitles(settings.getInt("contention.hot-titles"))
+                : List.of();
+
+        List<RequestStats> stats = new ArrayList<>();
+        for (String mix : mixes) {
+            stats.addAll(runMix(mix, virtualUser(mix, catalog, hotTitles)));
+        }
+
+        List<SloGate.Result> results = new SloGate().check(slos(), mixes, stats);
+        report(stats, results);
+        return results.stream().allMatch(SloGate.Result::passed);
+    }
+
+    // The ones derived from the baseline, unless an slo. setting sets them
+    private Map<String, String> slos() {
+        Map<String, String> slos = new TreeMap<>();
+        String baseline = settings.get("baseline");
+        if (!baseline.isEmpty()) {
+            slos.putAll(Baseline.read(baseline, objectMapper).slos(settings.getDouble("baseline.tolerance")));
+        }
+        slos.putAll(settings.withPrefix("slo."));
+        return slos;
+    }
+
+    private VirtualUser virtualUser(String mix, Catalog catalog, List<Long> hotTitles) {
+        return switch (mix) {
+            case "login-storm" -> (client, index) -> () -> client.login(randomPatron(), PATRON_PASSWORD);
+            case "browsing" -> (client, index) -> browse(client, login(index), catalog);
+            case "contention" -> (client, index) -> borrowAndReturn(client, login(index), hotTitles);
+            case "connections" -> {
+                // Thousands of logins would only measure BCrypt, so the connections share one patron's token
+                String token = login(0);
+                yield (client, index) -> () -> client.get("get-book", "/api/books/" + pick(catalog.ids()), token, 200);
+            }
+            default -> throw new IllegalArgumentException("Unknown mix: " + mix);
+        };
+    }
+
+    private List<RequestStats> runMix(String mix, VirtualUser virtualUser)
+            throws InterruptedException, ExecutionException {
+        int users = settings.getInt(mix + ".users");
+        System.out.printf("Running %s with %d users%n", mix, users);
+        LatencyRecorder recorder = new LatencyRecorder();
+        LibraryClient client = new LibraryClient(httpClient, baseUri, objectMapper, recorder);
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch started = new CountDownLatch(users);
+        List<Future<?>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < users; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    Runnable iteration;
+                    try {
+                        iteration = virtualUser.start(client, index);
+                    } finally {
+                        started.countDown();
+                    }
+                    while (running.get()) {
+                        iteration.run();
+                    }
+                }));
+            }
+            started.await();
+            Thread.sleep(settings.getDuration("warmup"));
+            recorder.start();
+            Thread.sleep(settings.getDuration("duration"));
+            recorder.stop();
+            running.set(false);
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        return recorder.stats(mix);
+    }
+
+    private Runnable browse(LibraryClient client, String token, Catalog catalog) {
+        String[] cursor = new String[1];
+        return () -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int choice = random.nextInt(10);
+            if (choice < 4) {
+                client.get("search-title", "/api/books/search?size=20&page=" + random.nextInt(3) + "&title="
+                        + LibraryClient.encode(pick(catalog.titleWords())), token, 200);
+            } else if (choice < 6) {
+                client.get("search-author", "/api/books/search?size=20&author="
+                        + LibraryClient.encode(pick(catalog.authors())), token, 200);
+            } else if (choice < 8) {
+                // follows the cursor for a few pages, then starts over
+                String after = cursor[0] == null || random.nextInt(5) == 0 ? "" : "&after=" + cursor[0];
+                LibraryClient.Response page = client.get("scroll", "/api/books/search/scroll?sort=TITLE&size=20" + after,
+                        token, 200);
+                cursor[0] = page.body() == null || !page.body().path("hasNext").asBoolean() ? null
+                        : LibraryClient.encode(page.body().get("next").asText());
+            } else if (choice < 9) {
+                client.get("get-book", "/api/books/" + pick(catalog.ids()), token, 200);
+            } else {
+                client.get("history", "/api/borrowings/history?size=20", token, 200);
+            }
+        };
+    }
+
+    private Runnable borrowAndReturn(LibraryClient client, String token, List<Long> hotTitles) {
+        return () -> {
+            LocalDateTime from = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+            LibraryClient.Response borrowed = client.post(status -> status == 404 ? "borrow-unavailable" : "borrow",
+                    "/api/borrowings/borrow/" + pick(hotTitles), token, null, 201, 404);
+            if (!borrowed.is(201)) {
+                return;
+            }
+            LibraryClient.Response history = client.get("find-loan", "/api/borrowings/history?size=50&from=" + from,
+                    token, 200);
+            if (history.body() == null) {
+                return;
+            }
+            for (JsonNode borrowing : history.body().get("content")) {
+                if (!borrowing.hasNonNull("returnDate")) {
+                    client.post("return", "/api/borrowings/return/" + borrowing.get("id").asLong(), token, null, 200);
+                }
+            }
+        };
+    }
+
+    private String login(int index) {
+        String username = SyntheticDataGenerator.username(index % patrons + 1);
+        String token = unrecordedClient().login(username, PATRON_PASSWORD);
+        if (token == null) {
+            throw new IllegalStateException("Could not log in as " + username);
+        }
+        return token;
+    }
+
+    // The recorder of a client used outside of a mix is never started
+    private LibraryClient unrecordedClient() {
+        return new LibraryClient(httpClient, baseUri, objectMapper, new LatencyRecorder());
+    }
+
+    private String randomPatron() {
+        return SyntheticDataGenerator.username(ThreadLocalRandom.current().nextInt(patrons) + 1);
+    }
+
+    private static <T> T pick(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+
+    private record Catalog(List<Long> ids, List<String> titleWords, List<String> authors) {}
+
+    // The search terms come from the generated books, so every search finds something
+    private Catalog sampleCatalog() {
+        LibraryClient client = unrecordedClient();
+        String token = login(0);
+        JsonNode books = client.get("sample", "/api/books/search?size=200", token, 200).body().get("content");
+        List<Long> ids = new ArrayList<>();
+        List<String> titleWords = new ArrayList<>();
+        List<String> authors = new ArrayList<>();
+        for (JsonNode book : books) {
+            ids.add(book.get("id").asLong());
+            titleWords.addAll(List.of(book.get("title").asText().split(" ")));
+            String author = book.get("author").asText();
+            authors.add(author.substring(author.lastIndexOf(' ') + 1));
+        }
+        return new Catalog(ids, titleWords.stream().filter(word -> word.length() > 3).distinct().toList(),
+                authors.stream().distinct().toList());
+    }
+
+    private List<Long> createHotTitles(int count) {
+        LibraryClient client = unrecordedClient();
+        String token = client.login(LIBRARIAN_USERNAME, LIBRARIAN_PASSWORD);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> book = Map.of("title", "Hot title " + i, "author", "Load Test",
+                    "isbn", String.valueOf(9_790_000_000_000L + i), "publishedDate", LocalDate.of(2020, 1, 1),
+                    "price", BigDecimal.TEN, "genre", "FICTION");
+            ids.add(client.post("create-book", "/api/books", token, book, 201).body().get("id").asLong());
+        }
+        return ids;
+    }
+
+    private void report(List<RequestStats> stats, List<SloGate.Result> results) throws IOException {
+        System.out.printf("%n%-12s %-19s %9s %7s %10s %9s %9s %9s %9s%n",
+                "Mix", "Request", "Count", "Errors", "Req/s", "p50 ms", "p99 ms", "p999 ms", "Max ms");
+        for (RequestStats request : stats) {
+            System.out.printf("%-12s %-19s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n", request.mix(), request.request(),
+                    request.count(), request.errors(), request.throughput(), request.p50(), request.p99(),
+                    request.p999(), request.max());
+        }
+        System.out.println();
+        for (SloGate.Result result : results) {
+            System.out.printf("%-4s %-40s %10.2f limit %10.2f%n", result.passed() ? "OK" : "FAIL", result.slo(),
+                    result.measured(), result.limit());
+        }
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("stats", stats);
+        json.put("slos", results);
+        Path file = Path.of(settings.get("result"));
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), json);
+        System.out.println("\nResults written to " + file);
+    }
+}
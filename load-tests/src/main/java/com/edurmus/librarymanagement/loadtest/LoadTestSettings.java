@@ -0,0 +1,73 @@
+package com.edurmus.librarymanagement.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * The settings of load-test.properties, overridden by {@code key=value} arguments.
+ */
+public class LoadTestSettings {
+
+    private final Properties properties = new Properties();
+
+    public LoadTestSettings(String[] args) {
+        try (InputStream defaults = LoadTestSettings.class.getResourceAsStream("/load-test.properties")) {
+            properties.load(defaults);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read load-test.properties", e);
+        }
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 1) {
+                throw new IllegalArgumentException("Expected key=value but got: " + arg);
+            }
+            properties.setProperty(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+    }
+
+    public String get(String key) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing load test setting: " + key);
+        }
+        return value;
+    }
+
+    public int getInt(String key) {
+        return Integer.parseInt(get(key));
+    }
+
+    public double getDouble(String key) {
+        return Double.parseDouble(get(key));
+    }
+
+    public List<String> getList(String key) {
+        return Arrays.stream(get(key).split(","))
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .toList();
+    }
+
+    public Duration getDuration(String key) {
+        return DurationStyle.detectAndParse(get(key));
+    }
+
+    // Every setting under the prefix, without it, e.g. slo.search.p99=50 as search.p99=50
+    public TreeMap<String, String> withPrefix(String prefix) {
+        TreeMap<String, String> matching = new TreeMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith(prefix)) {
+                matching.put(key.substring(prefix.length()), properties.getProperty(key));
+            }
+        }
+        return matching;
+    }
+}
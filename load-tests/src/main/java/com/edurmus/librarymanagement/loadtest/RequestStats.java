@@ -0,0 +1,19 @@
+package com.edurmus.librarymanagement.loadtest;
+
+/**
+ * Latencies in milliseconds and throughput in requests per second of one request within a mix.
+ */
+public record RequestStats(String mix,
+                           String request,
+                           long count,
+                           long errors,
+                           double throughput,
+                           double p50,
+                           double p99,
+                           double p999,
+                           double max) {
+
+    public double errorRate() {
+        return count == 0 ? 0 : (double) errors / count;
+    }
+}
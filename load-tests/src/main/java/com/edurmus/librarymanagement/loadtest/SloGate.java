@@ -0,0 +1,54 @@
+package com.edurmus.librarymanagement.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Checks the measured requests against the {@code slo.} settings. {@code slo.<mix>.<request>.<metric>} bounds
+ * {@code p50}, {@code p99} or {@code p999} in milliseconds from above and {@code throughput} in requests per second
+ * from below, {@code slo.max-error-rate} bounds the error rate of every request. SLOs of mixes that did not run are
+ * skipped.
+ */
+public class SloGate {
+
+    private static final String MAX_ERROR_RATE = "max-error-rate";
+
+    public record Result(String slo, double limit, double measured, boolean passed) {}
+
+    public List<Result> check(Map<String, String> slos, List<String> mixes, List<RequestStats> stats) {
+        List<Result> results = new ArrayList<>();
+        slos.forEach((slo, value) -> {
+            double limit = Double.parseDouble(value);
+            if (slo.equals(MAX_ERROR_RATE)) {
+                stats.forEach(request -> results.add(new Result(request.mix() + "." + request.request() + ".error-rate",
+                        limit, request.errorRate(), request.errorRate() <= limit)));
+                return;
+            }
+            String[] parts = slo.split("\\.");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Expected slo.<mix>.<request>.<metric> but got: slo." + slo);
+            }
+            if (!mixes.contains(parts[0])) {
+                return;
+            }
+            RequestStats request = find(stats, parts[0], parts[1])
+                    .orElseThrow(() -> new IllegalArgumentException("No request measured for slo." + slo));
+            results.add(switch (parts[2]) {
+                case "p50" -> new Result(slo, limit, request.p50(), request.p50() <= limit);
+                case "p99" -> new Result(slo, limit, request.p99(), request.p99() <= limit);
+                case "p999" -> new Result(slo, limit, request.p999(), request.p999() <= limit);
+                case "throughput" -> new Result(slo, limit, request.throughput(), request.throughput() >= limit);
+                default -> throw new IllegalArgumentException("Unknown SLO metric in slo." + slo);
+            });
+        });
+        return results;
+    }
+
+    private static Optional<RequestStats> find(List<RequestStats> stats, String mix, String request) {
+        return stats.stream()
+                .filter(candidate -> candidate.mix().equals(mix) && candidate.request().equals(request))
+                .findFirst();
+    }
+}
@@ -0,0 +1,50 @@
+package com.edurmus.librarymanagement.config;
+
+import com.edurmus.librarymanagement.model.entity.BaseEntity;
+import com.edurmus.librarymanagement.model.enums.ImportStrategy;
+import com.edurmus.librarymanagement.service.imports.AnalyzingBookInserter;
+import com.edurmus.librarymanagement.service.imports.BookBatchInserter;
+import com.edurmus.librarymanagement.service.imports.JdbcBatchBookInserter;
+import com.edurmus.librarymanagement.service.imports.PostgresCopyBookInserter;
+import com.edurmus.librarymanagement.service.imports.SequenceIdAllocator;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(BookImportProperties.class)
+public class BookImportConfig {
+
+    @Bean
+    public SequenceIdAllocator bookIdAllocator(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        return new SequenceIdAllocator(jdbcTemplate, dialect, "book_seq", BaseEntity.ID_ALLOCATION_SIZE);
+    }
+
+    @Bean
+    public BookBatchInserter bookBatchInserter(JdbcTemplate jdbcTemplate, BookImportProperties properties) {
+        String database = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        boolean postgres = "PostgreSQL".equals(database);
+
+        ImportStrategy strategy = properties.strategy();
+        if (strategy == ImportStrategy.AUTO) {
+            strategy = postgres ? ImportStrategy.COPY : ImportStrategy.BATCH;
+        }
+        if (strategy == ImportStrategy.COPY && !postgres) {
+            throw new IllegalStateException("The COPY book import strategy requires PostgreSQL, the database is " + database);
+        }
+        log.info("Book imports are written with {} on {}", strategy, database);
+        BookBatchInserter inserter = strategy == ImportStrategy.COPY
+                ? new PostgresCopyBookInserter(jdbcTemplate)
+                : new JdbcBatchBookInserter(jdbcTemplate);
+        return postgres ? new AnalyzingBookInserter(inserter, jdbcTemplate) : inserter;
+    }
+}
@@ -0,0 +1,17 @@
+package com.edurmus.librarymanagement.config;
+
+import com.edurmus.librarymanagement.model.enums.ImportStrategy;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param batchSize         rows written per statement batch and transaction, a failing batch is retried row by row
+ * @param strategy          how batches are written, COPY requires PostgreSQL
+ * @param maxReportedErrors rejected rows listed in the import response, the counts always cover every row
+ */
+@ConfigurationProperties(prefix = "library.books.import")
+public record BookImportProperties(
+        @DefaultValue("1000") int batchSize,
+        @DefaultValue("AUTO") ImportStrategy strategy,
+        @DefaultValue("100") int maxReportedErrors
+) {}
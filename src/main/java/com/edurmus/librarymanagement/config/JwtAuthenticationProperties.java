@@ -0,0 +1,23 @@
+package com.edurmus.librarymanagement.config;
+
+import com.edurmus.librarymanagement.model.enums.AuthenticationMode;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param mode                how authenticated requests are turned into a security context
+ * @param userStatusTtl       how long the enabled flag and roles of a user are trusted before they are read again
+ * @param userStatusCacheSize maximum number of users kept in the status cache
+ * @param tokenCacheTtl       how long a verified token is reused, entries never outlive the token expiry
+ * @param tokenCacheSize      maximum number of verified tokens kept, zero disables the cache
+ */
+@ConfigurationProperties(prefix = "library.security.jwt")
+public record JwtAuthenticationProperties(
+        @DefaultValue("CLAIMS") AuthenticationMode mode,
+        @DefaultValue("30s") Duration userStatusTtl,
+        @DefaultValue("10000") long userStatusCacheSize,
+        @DefaultValue("5m") Duration tokenCacheTtl,
+        @DefaultValue("10000") long tokenCacheSize
+) {}
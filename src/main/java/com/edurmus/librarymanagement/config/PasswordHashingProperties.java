@@ -0,0 +1,16 @@
+package com.edurmus.librarymanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param strength      BCrypt log rounds for new hashes, stored hashes with another cost are rehashed on login
+ * @param threads       logins verified concurrently, keeps hashing from taking every core
+ * @param queueCapacity logins waiting for a hashing thread before new ones are rejected
+ */
+@ConfigurationProperties(prefix = "library.security.password")
+public record PasswordHashingProperties(
+        @DefaultValue("10") int strength,
+        @DefaultValue("4") int threads,
+        @DefaultValue("100") int queueCapacity
+) {}
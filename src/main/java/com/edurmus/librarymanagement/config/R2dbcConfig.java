@@ -0,0 +1,93 @@
+package com.edurmus.librarymanagement.config;
+
+import com.edurmus.librarymanagement.model.entity.ReactiveBook;
+import com.edurmus.librarymanagement.repository.ReactiveBookRepository;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.mapping.event.BeforeConvertCallback;
+import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking access to the book table for the reactive endpoints, next to the JPA datasource.
+ * <p>
+ * The connection pool is deliberately not exposed as a bean: DataSourceAutoConfiguration backs off once a
+ * ConnectionFactory bean exists, and the rest of the application keeps running on JPA. For the same reason
+ * there is no ReactiveTransactionManager bean, which would make the default {@code @Transactional} ambiguous.
+ */
+@Configuration
+@Profile("r2dbc")
+@EnableConfigurationProperties(ReactiveDatabaseProperties.class)
+@EnableR2dbcRepositories(basePackageClasses = ReactiveBookRepository.class,
+        includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = ReactiveBookRepository.class),
+        entityOperationsRef = "reactiveEntityTemplate")
+public class R2dbcConfig implements DisposableBean {
+
+    private final ConnectionPool connectionPool;
+
+    public R2dbcConfig(ReactiveDatabaseProperties properties) {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(properties.url()).mutate();
+        if (properties.username() != null) {
+            options.option(ConnectionFactoryOptions.USER, properties.username());
+        }
+        if (properties.password() != null) {
+            options.option(ConnectionFactoryOptions.PASSWORD, properties.password());
+        }
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(options.build()))
+                .name("library-r2dbc")
+                .maxSize(properties.maxPoolSize())
+                .build());
+    }
+
+    @Bean
+    public R2dbcEntityTemplate reactiveEntityTemplate() {
+        return new R2dbcEntityTemplate(connectionPool);
+    }
+
+    @Bean
+    public TransactionalOperator reactiveTransactionalOperator() {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionPool));
+    }
+
+    // Books get their id from book_seq like the JPA entities. Every insert takes a whole pooled-lo block,
+    // which wastes ids but never collides with the blocks Hibernate holds.
+    @Bean
+    public BeforeConvertCallback<ReactiveBook> reactiveBookIdCallback(EntityManagerFactory entityManagerFactory) {
+        String nextValueSql = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect()
+                .getSequenceSupport().getSequenceNextValString("book_seq");
+        DatabaseClient databaseClient = DatabaseClient.create(connectionPool);
+        return (book, table) -> {
+            if (book.getId() != null) {
+                return Mono.just(book);
+            }
+            return databaseClient.sql(nextValueSql)
+                    .map(row -> row.get(0, Long.class))
+                    .one()
+                    .map(id -> {
+                        book.setId(id);
+                        return book;
+                    });
+        };
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+    }
+}
@@ -0,0 +1,18 @@
+package com.edurmus.librarymanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param batchSize     rows read from the database per request of the subscriber
+ * @param fetchThreads  upper bound of threads doing blocking repository calls for the reactive endpoints
+ * @param emitInterval  optional pause between emitted books, zero disables the rate limit
+ */
+@ConfigurationProperties(prefix = "library.reactive.books")
+public record ReactiveBookProperties(
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("10") int fetchThreads,
+        @DefaultValue("0ms") Duration emitInterval
+) {}
@@ -0,0 +1,19 @@
+package com.edurmus.librarymanagement.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+@EnableConfigurationProperties(ReactiveBookProperties.class)
+public class ReactiveConfig {
+
+    // Dedicated pool, so blocking book queries cannot starve the shared boundedElastic scheduler
+    @Bean(destroyMethod = "dispose")
+    public Scheduler bookFetchScheduler(ReactiveBookProperties properties) {
+        return Schedulers.newBoundedElastic(properties.fetchThreads(),
+                Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, "book-fetch");
+    }
+}
@@ -0,0 +1,16 @@
+package com.edurmus.librarymanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param url         R2DBC url of the database the JPA datasource points to, e.g. r2dbc:postgresql://localhost:5432/library
+ * @param maxPoolSize upper bound of open R2DBC connections
+ */
+@ConfigurationProperties(prefix = "library.reactive.r2dbc")
+public record ReactiveDatabaseProperties(
+        String url,
+        String username,
+        String password,
+        @DefaultValue("20") int maxPoolSize
+) {}
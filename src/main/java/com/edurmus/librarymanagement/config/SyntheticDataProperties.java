@@ -0,0 +1,34 @@
+package com.edurmus.librarymanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.LocalDate;
+
+/**
+ * @param seed            seeds every random choice, the same seed, scale and reference date give the same rows
+ * @param users           patrons to create, named patron1, patron2, ...
+ * @param books           books to create
+ * @param borrowings      borrowings to create, loans favour a small share of popular titles
+ * @param historyDays     how far back the borrowing history goes
+ * @param openLoanRatio   share of borrowings not returned yet, borrowed within the last two loan periods so about
+ *                        half of them are past due
+ * @param lateReturnRatio share of borrowings returned after the due date, fined and counted like a late return
+ *                        through the API, patrons with two of them are disabled
+ * @param batchSize       rows per JDBC batch
+ * @param password        password of every generated patron, hashed once
+ * @param referenceDate   the day the history ends on, today when not set
+ */
+@ConfigurationProperties(prefix = "library.synthetic-data")
+public record SyntheticDataProperties(
+        @DefaultValue("42") long seed,
+        @DefaultValue("20000") int users,
+        @DefaultValue("100000") int books,
+        @DefaultValue("300000") long borrowings,
+        @DefaultValue("365") int historyDays,
+        @DefaultValue("0.02") double openLoanRatio,
+        @DefaultValue("0.03") double lateReturnRatio,
+        @DefaultValue("1000") int batchSize,
+        @DefaultValue("patron123") String password,
+        LocalDate referenceDate
+) {}
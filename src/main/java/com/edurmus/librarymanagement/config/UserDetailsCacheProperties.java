@@ -0,0 +1,16 @@
+package com.edurmus.librarymanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param ttl  upper bound for changes made on other nodes to reach this node, local changes evict immediately
+ * @param size maximum number of users kept, zero disables the cache
+ */
+@ConfigurationProperties(prefix = "library.security.user-details-cache")
+public record UserDetailsCacheProperties(
+        @DefaultValue("5m") Duration ttl,
+        @DefaultValue("10000") long size
+) {}
@@ -4,6 +4,7 @@ import com.edurmus.librarymanagement.model.dto.request.AuthRequest;
 import com.edurmus.librarymanagement.model.dto.request.UserRequest;
 import com.edurmus.librarymanagement.model.dto.response.AuthResponse;
 import com.edurmus.librarymanagement.model.dto.response.UserResponse;
+import com.edurmus.librarymanagement.security.PasswordHashingExecutor;
 import com.edurmus.librarymanagement.service.UserService;
 import com.edurmus.librarymanagement.util.JwtUtil;
 import io.swagger.v3.oas.annotations.Operation;
@@ -23,6 +24,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/auth")
 @Slf4j
@@ -33,21 +36,30 @@ public class AuthController {
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
     private final UserService userService;
+    private final PasswordHashingExecutor passwordHashingExecutor;
 
-    public AuthController(AuthenticationManager authenticationManager, JwtUtil jwtUtil, UserDetailsService userDetailsService, UserService userService) {
+    public AuthController(AuthenticationManager authenticationManager, JwtUtil jwtUtil, UserDetailsService userDetailsService,
+                          UserService userService, PasswordHashingExecutor passwordHashingExecutor) {
         this.authenticationManager = authenticationManager;
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
         this.userService = userService;
+        this.passwordHashingExecutor = passwordHashingExecutor;
     }
 
     @PostMapping("/login")
     @Operation(summary = "Login user", description = "Allows user to login")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "User logged in successfully"),
-            @ApiResponse(responseCode = "404", description = "User not found")
+            @ApiResponse(responseCode = "404", description = "User not found"),
+            @ApiResponse(responseCode = "503", description = "Too many logins in progress")
     })
-    public ResponseEntity<?> login(@RequestBody @Valid AuthRequest request) {
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody @Valid AuthRequest request) {
+        // BCrypt verification runs on the bounded hashing pool, the request thread is released meanwhile
+        return passwordHashingExecutor.submit(() -> authenticate(request));
+    }
+
+    private ResponseEntity<?> authenticate(AuthRequest request) {
         authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(request.username(), request.password())
         );
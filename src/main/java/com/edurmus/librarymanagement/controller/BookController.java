@@ -2,8 +2,14 @@ package com.edurmus.librarymanagement.controller;
 
 import com.edurmus.librarymanagement.model.dto.request.BookRequest;
 import com.edurmus.librarymanagement.model.dto.request.BookSearchRequest;
+import com.edurmus.librarymanagement.model.dto.response.BookImportResponse;
 import com.edurmus.librarymanagement.model.dto.response.BookResponse;
+import com.edurmus.librarymanagement.model.dto.response.CursorPageResponse;
 import com.edurmus.librarymanagement.model.enums.BookGenre;
+import com.edurmus.librarymanagement.model.enums.BookSortKey;
+import com.edurmus.librarymanagement.model.enums.ExportFormat;
+import com.edurmus.librarymanagement.model.enums.ImportFormat;
+import com.edurmus.librarymanagement.service.BookImportService;
 import com.edurmus.librarymanagement.service.BookService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -13,10 +19,15 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @Slf4j
@@ -27,6 +38,7 @@ import java.util.List;
 public class BookController {
 
     private final BookService bookService;
+    private final BookImportService bookImportService;
 
     @PreAuthorize("hasRole('LIBRARIAN')")
     @Operation(summary = "Create a new book", description = "Allows librarian user to create a new book in the library")
@@ -73,6 +85,28 @@ public class BookController {
         return ResponseEntity.ok(booksResponse);
     }
 
+    @PreAuthorize("hasRole('LIBRARIAN') or hasRole('PATRON')")
+    @Operation(summary = "Search for books with cursor based pagination",
+            description = "Retrieves the books after the given cursor, ordered by the sort key and id. Total count is only calculated when requested")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Books found by search criteria after the cursor"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    })
+    @GetMapping("/search/scroll")
+    public ResponseEntity<CursorPageResponse<BookResponse>> scrollBooks(
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false) String author,
+            @RequestParam(required = false) String isbn,
+            @RequestParam(required = false) BookGenre genre,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "ID") BookSortKey sort,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+        BookSearchRequest request = new BookSearchRequest(title, author, isbn, genre);
+        CursorPageResponse<BookResponse> booksResponse = bookService.scrollBooks(request, sort, after, size, withTotal);
+        return ResponseEntity.ok(booksResponse);
+    }
+
 
     @Operation(summary = "Get a book by ID", description = "Retrieves a book by its ID")
     @ApiResponses(value = {
@@ -105,9 +139,44 @@ public class BookController {
             @ApiResponse(responseCode = "404", description = "No active books found")
     })
     @GetMapping
-    public ResponseEntity<List<BookResponse>> getAllBooks() {
+    public ResponseEntity<StreamingResponseBody> getAllBooks() {
         log.info("Fetching all active books");
-        return ResponseEntity.ok(bookService.getAll());
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(outputStream -> bookService.exportActiveBooks(outputStream, ExportFormat.JSON));
+    }
+
+    @PreAuthorize("hasRole('LIBRARIAN')")
+    @Operation(summary = "Export all active books", description = "Streams all active books as JSON, NDJSON or CSV")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Active books exported successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid export format")
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportBooks(@RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        log.info("Exporting all active books as {}", format);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"books." + format.name().toLowerCase() + "\"")
+                .body(outputStream -> bookService.exportActiveBooks(outputStream, format));
+    }
+
+    @PreAuthorize("hasRole('LIBRARIAN')")
+    @Operation(summary = "Bulk import books", description = "Streams NDJSON or CSV books into the library in batches and reports the rejected rows. The format follows the Content-Type unless given explicitly")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import finished, see the report for rejected rows"),
+            @ApiResponse(responseCode = "400", description = "Unreadable import body or invalid format")
+    })
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<BookImportResponse> importBooks(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                          @RequestParam(required = false) ImportFormat format,
+                                                          InputStream body) throws IOException {
+        ImportFormat importFormat = format != null ? format : ImportFormat.fromMediaType(contentType);
+        log.info("Importing books as {}", importFormat);
+        try (body) {
+            return ResponseEntity.ok(bookImportService.importBooks(body, importFormat));
+        }
     }
 
     @Operation(summary = "Get all available (and active) books", description = "Retrieves a list of all available books")
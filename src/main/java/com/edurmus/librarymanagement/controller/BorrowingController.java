@@ -1,25 +1,33 @@
 package com.edurmus.librarymanagement.controller;
 
+import com.edurmus.librarymanagement.model.dto.request.BorrowingHistoryRequest;
 import com.edurmus.librarymanagement.model.dto.response.BorrowingDTO;
 import com.edurmus.librarymanagement.model.dto.response.BorrowingSuccessResponse;
+import com.edurmus.librarymanagement.model.dto.response.CursorPageResponse;
 import com.edurmus.librarymanagement.model.dto.response.ReturnBookResponse;
 import com.edurmus.librarymanagement.service.BorrowingService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.time.LocalDateTime;
 
 @RestController
 @RequestMapping("/api/borrowings")
 @Tag(name = "Borrowing Management", description = "Endpoints for borrowing and returning books")
 public class BorrowingController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     private final BorrowingService borrowingService;
 
     public BorrowingController(BorrowingService borrowingService) {
@@ -52,26 +60,100 @@ public class BorrowingController {
 
     @PreAuthorize("hasRole('PATRON') or hasRole('LIBRARIAN')")
     @GetMapping("/history")
-    @Operation(summary = "Get user's borrowing history", description = "Retrieves the borrowing history of the logged-in user")
+    @Operation(summary = "Get user's borrowing history", description = "Retrieves a page of the borrowing history of the logged-in user")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "User's borrowing history fetched successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid date range or page size")
+    })
+    public ResponseEntity<Page<BorrowingDTO>> getUserBorrowingHistory(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        BorrowingHistoryRequest historyRequest = new BorrowingHistoryRequest(from, to);
+        return ResponseEntity.ok(borrowingService.getUserBorrowingHistory(historyRequest, page, size));
+    }
+
+    @PreAuthorize("hasRole('PATRON') or hasRole('LIBRARIAN')")
+    @GetMapping("/history/scroll")
+    @Operation(summary = "Get user's borrowing history with cursor based pagination",
+            description = "Retrieves the borrowings of the logged-in user after the given cursor, ordered by id")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "User's borrowing history fetched successfully"),
-            @ApiResponse(responseCode = "404", description = "No borrowing history found")
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or date range")
+    })
+    public ResponseEntity<CursorPageResponse<BorrowingDTO>> scrollUserBorrowingHistory(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size) {
+        BorrowingHistoryRequest historyRequest = new BorrowingHistoryRequest(from, to);
+        return ResponseEntity.ok(borrowingService.scrollUserBorrowingHistory(historyRequest, after, size));
+    }
+
+    @PreAuthorize("hasRole('PATRON') or hasRole('LIBRARIAN')")
+    @GetMapping(value = "/history/export", produces = NDJSON)
+    @Operation(summary = "Export user's borrowing history", description = "Streams the borrowing history of the logged-in user as NDJSON")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "User's borrowing history exported successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid date range")
     })
-    public ResponseEntity<List<BorrowingDTO>> getUserBorrowingHistory() {
-        List<BorrowingDTO> borrowings = borrowingService.getUserBorrowingHistory();
-        return ResponseEntity.ok(borrowings);
+    public ResponseEntity<StreamingResponseBody> exportUserBorrowingHistory(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        BorrowingHistoryRequest historyRequest = new BorrowingHistoryRequest(from, to);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(outputStream -> borrowingService.exportUserBorrowingHistory(historyRequest, outputStream));
     }
 
     @PreAuthorize("hasRole('LIBRARIAN')")
     @GetMapping("/all-history")
-    @Operation(summary = "Get all borrowing history", description = "Retrieves the borrowing history for all users (admin access only)")
+    @Operation(summary = "Get all borrowing history", description = "Retrieves a page of the borrowing history for all users (admin access only)")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "All users' borrowing history fetched successfully"),
-            @ApiResponse(responseCode = "404", description = "No borrowing history found")
+            @ApiResponse(responseCode = "400", description = "Invalid date range or page size")
+    })
+    public ResponseEntity<Page<BorrowingDTO>> getAllBorrowingHistory(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        BorrowingHistoryRequest historyRequest = new BorrowingHistoryRequest(from, to);
+        return ResponseEntity.ok(borrowingService.getAllBorrowingHistory(historyRequest, page, size));
+    }
+
+    @PreAuthorize("hasRole('LIBRARIAN')")
+    @GetMapping("/all-history/scroll")
+    @Operation(summary = "Get all borrowing history with cursor based pagination",
+            description = "Retrieves the borrowings of all users after the given cursor, ordered by id (admin access only)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "All users' borrowing history fetched successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or date range")
+    })
+    public ResponseEntity<CursorPageResponse<BorrowingDTO>> scrollAllBorrowingHistory(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size) {
+        BorrowingHistoryRequest historyRequest = new BorrowingHistoryRequest(from, to);
+        return ResponseEntity.ok(borrowingService.scrollAllBorrowingHistory(historyRequest, after, size));
+    }
+
+    @PreAuthorize("hasRole('LIBRARIAN')")
+    @GetMapping(value = "/all-history/export", produces = NDJSON)
+    @Operation(summary = "Export all borrowing history", description = "Streams the borrowing history for all users as NDJSON (admin access only)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "All users' borrowing history exported successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid date range")
     })
-    public ResponseEntity<List<BorrowingDTO>> getAllBorrowingHistory() {
-        List<BorrowingDTO> borrowings = borrowingService.getAllBorrowingHistory();
-        return ResponseEntity.ok(borrowings);
+    public ResponseEntity<StreamingResponseBody> exportAllBorrowingHistory(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        BorrowingHistoryRequest historyRequest = new BorrowingHistoryRequest(from, to);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(outputStream -> borrowingService.exportAllBorrowingHistory(historyRequest, outputStream));
     }
 
     @PreAuthorize("hasRole('LIBRARIAN')")
@@ -10,6 +10,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -23,6 +24,7 @@ public class ReactiveBookController {
 
     private final ReactiveBookService bookService;
 
+    @PreAuthorize("hasRole('LIBRARIAN')")
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public Mono<BookResponse> createBook(@Valid @RequestBody BookRequest bookRequest) {
@@ -31,6 +33,7 @@ public class ReactiveBookController {
     }
 
 
+    @PreAuthorize("hasRole('LIBRARIAN')")
     @PutMapping("/{id}")
     public Mono<ResponseEntity<BookResponse>> updateBook(@PathVariable Long id, @Valid @RequestBody BookRequest bookRequest) {
         log.info("Request received to update book with id: {}", id);
@@ -46,6 +49,7 @@ public class ReactiveBookController {
                 .defaultIfEmpty(ResponseEntity.notFound().build());
     }
 
+    @PreAuthorize("hasRole('LIBRARIAN')")
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public Mono<Void> deleteBook(@PathVariable Long id) {
@@ -2,13 +2,20 @@ package com.edurmus.librarymanagement.exception;
 
 
 import com.edurmus.librarymanagement.exception.book.BookAlreadyReturnedException;
+import com.edurmus.librarymanagement.exception.book.BookImportException;
 import com.edurmus.librarymanagement.exception.book.BookNotAvailableException;
+import com.edurmus.librarymanagement.exception.book.BookSaveException;
 import com.edurmus.librarymanagement.exception.borrow.BorrowingNotFoundException;
 import com.edurmus.librarymanagement.exception.user.EmailAlreadyExistException;
+import com.edurmus.librarymanagement.exception.user.LoginCapacityExceededException;
 import com.edurmus.librarymanagement.exception.user.UsernameAlreadyExistException;
 import com.edurmus.librarymanagement.model.dto.response.ErrorResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.swagger.v3.oas.annotations.Hidden;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -23,10 +30,27 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Hidden
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    static final String COUNTER_NAME = "library.book.exceptions";
+
+    private final Counter bookNotAvailableCounter;
+    private final Counter bookSaveCounter;
+
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.bookNotAvailableCounter = counter(meterRegistry, BookNotAvailableException.class);
+        this.bookSaveCounter = counter(meterRegistry, BookSaveException.class);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, Class<? extends RuntimeException> exception) {
+        return Counter.builder(COUNTER_NAME)
+                .description("Book exceptions answered by the API")
+                .tag("exception", exception.getSimpleName())
+                .register(meterRegistry);
+    }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<List<String>> handleValidationExceptions(MethodArgumentNotValidException ex) {
@@ -85,6 +109,12 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Authentication error occurred");
     }
 
+    @ExceptionHandler(LoginCapacityExceededException.class)
+    public ResponseEntity<String> handleLoginCapacityExceededException(LoginCapacityExceededException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ex.getMessage());
+    }
 
     @ExceptionHandler(EmailAlreadyExistException.class)
     public ResponseEntity<String> handleEmailAlreadyExistsException(EmailAlreadyExistException ex) {
@@ -111,12 +141,32 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(BookNotAvailableException.class)
     public ResponseEntity<String> handleBookNotAvailableException(BookNotAvailableException ex) {
+        bookNotAvailableCounter.increment();
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body("This book currently not available in the library.");
     }
 
+    // Handled to be counted, the status stays 500 and the cause is only logged
+    @ExceptionHandler(BookSaveException.class)
+    public ResponseEntity<ErrorResponse> handleBookSaveException(BookSaveException ex) {
+        bookSaveCounter.increment();
+        log.error("Book could not be saved", ex);
+        ErrorResponse response = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                HttpStatus.INTERNAL_SERVER_ERROR.getReasonPhrase(),
+                "The book could not be saved."
+        );
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+    }
+
     @ExceptionHandler(BookAlreadyReturnedException.class)
     public ResponseEntity<String> handleBookAlreadyReturnedException(BookAlreadyReturnedException ex) {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body("This book has already been returned.");
     }
 
+    @ExceptionHandler(BookImportException.class)
+    public ResponseEntity<String> handleBookImportException(BookImportException ex) {
+        return ResponseEntity.badRequest().body(ex.getMessage());
+    }
+
 }
@@ -0,0 +1,12 @@
+package com.edurmus.librarymanagement.exception.book;
+
+public class BookImportException extends RuntimeException {
+
+    public BookImportException(String message) {
+        super(message);
+    }
+
+    public BookImportException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
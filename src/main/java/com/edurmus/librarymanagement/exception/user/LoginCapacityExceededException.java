@@ -0,0 +1,7 @@
+package com.edurmus.librarymanagement.exception.user;
+
+public class LoginCapacityExceededException extends RuntimeException {
+    public LoginCapacityExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,370 @@
+package com.edurmus.librarymanagement.generator;
+
+import com.edurmus.librarymanagement.config.SyntheticDataProperties;
+import com.edurmus.librarymanagement.model.entity.BaseEntity;
+import com.edurmus.librarymanagement.model.entity.Book;
+import com.edurmus.librarymanagement.model.entity.User;
+import com.edurmus.librarymanagement.model.enums.BookGenre;
+import com.edurmus.librarymanagement.model.enums.BorrowingStatus;
+import com.edurmus.librarymanagement.model.enums.UserRole;
+import com.edurmus.librarymanagement.repository.RoleRepository;
+import com.edurmus.librarymanagement.service.imports.CopyCsvWriter;
+import com.edurmus.librarymanagement.service.imports.SequenceIdAllocator;
+import com.edurmus.librarymanagement.util.FineCalculator;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+/**
+ * Bulk loads patrons, books and a borrowing history at the configured scale when the synthetic-data profile is active.
+ * Every value is drawn from one seeded random source, so the same properties reproduce the same data on an empty
+ * database. Rows are written in batches, with COPY on PostgreSQL, and take their ids from the entity sequences.
+ */
+@Slf4j
+@Component
+@Profile("synthetic-data")
+@RequiredArgsConstructor
+@EnableConfigurationProperties(SyntheticDataProperties.class)
+public class SyntheticDataGenerator implements ApplicationRunner {
+
+    public static final String USERNAME_PREFIX = "patron";
+
+    private static final String CREATED_BY = "SYNTHETIC";
+    private static final int LOAN_DAYS = 14;
+    private static final int MAX_DAYS_LATE = 30;
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int LATE_RETURNS_BEFORE_DISABLING = 2;
+    // Loans pick book index n * r^3, so the most borrowed fifth of the titles takes about 60% of the loans
+    private static final double POPULARITY_SKEW = 3;
+
+    private static final String[] FIRST_NAMES = {"Ada", "Ahmet", "Alice", "Amir", "Anna", "Ayse", "Ben", "Carlos",
+            "Chen", "Clara", "David", "Elena", "Emre", "Fatma", "Grace", "Hana", "Ivan", "James", "Julia", "Kemal",
+            "Leila", "Lucas", "Maria", "Mehmet", "Nora", "Omar", "Priya", "Sofia", "Tom", "Yuki", "Zeynep", "Zoe"};
+    private static final String[] LAST_NAMES = {"Abbott", "Aydin", "Baker", "Celik", "Costa", "Demir", "Dubois",
+            "Evans", "Fischer", "Garcia", "Hansen", "Ito", "Jensen", "Kaya", "Kim", "Kowalski", "Lopez", "Moreau",
+            "Nakamura", "Novak", "Ozturk", "Patel", "Rossi", "Sahin", "Schmidt", "Silva", "Smith", "Tanaka", "Wang",
+            "Weber", "Yilmaz", "Young"};
+    private static final String[] ADJECTIVES = {"Silent", "Hidden", "Burning", "Frozen", "Golden", "Broken",
+            "Crimson", "Distant", "Endless", "Fallen", "Forgotten", "Gentle", "Hollow", "Iron", "Last", "Lost",
+            "Midnight", "Northern", "Pale", "Quiet", "Restless", "Scarlet", "Secret", "Shattered", "Silver", "Stolen",
+            "Sunken", "Velvet", "Wandering", "Wild", "Winter", "Wooden"};
+    private static final String[] NOUNS = {"Harbor", "Garden", "Kingdom", "River", "Mirror", "Lantern", "Forest",
+            "Empire", "Island", "Letter", "Library", "Mountain", "Orchard", "Palace", "Promise", "Road", "Shadow",
+            "Sky", "Storm", "Tower", "Valley", "Voyage", "Whisper", "Witness", "Bridge", "Compass", "Crown", "Desert",
+            "Engine", "Feather", "Map", "Station"};
+    private static final String[] PLACES = {"Avalon", "Babylon", "Cordoba", "Istanbul", "Kyoto", "Lisbon", "Marrakesh",
+            "Odessa", "Prague", "Samarkand", "Trieste", "Venice", "the North", "the Sea", "the Stars", "Yesterday"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final RoleRepository roleRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final SyntheticDataProperties properties;
+
+    private boolean postgres;
+
+    public static String username(int number) {
+        return USERNAME_PREFIX + number;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (isLoaded()) {
+            log.info("Synthetic data is already loaded, skipping");
+            return;
+        }
+        long start = System.currentTimeMillis();
+        postgres = "PostgreSQL".equals(jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()));
+        SplittableRandom random = new SplittableRandom(properties.seed());
+        long loanSeed = random.nextLong();
+        LocalDateTime end = (properties.referenceDate() == null ? LocalDate.now() : properties.referenceDate())
+                .atStartOfDay();
+
+        // The loans are drawn twice from the same seed: first to tally what the patron and book rows need,
+        // then to write them once those rows exist
+        LoanTally tally = new LoanTally(properties.users());
+        BitSet booksOnLoan = new BitSet(properties.books());
+        SplittableRandom tallyRandom = new SplittableRandom(loanSeed);
+        for (long i = 0; i < properties.borrowings(); i++) {
+            tally.add(nextLoan(tallyRandom, booksOnLoan, end));
+        }
+
+        long[] userIds = insertUsers(random.split(), tally, end);
+        long[] bookIds = insertBooks(random.split(), booksOnLoan, end);
+        insertBorrowings(new SplittableRandom(loanSeed), userIds, bookIds, end);
+
+        if (postgres) {
+            jdbcTemplate.execute("ANALYZE");
+        }
+        log.info("Synthetic data loaded: {} patrons, {} books, {} borrowings ({} still on loan) in {} ms",
+                properties.users(), properties.books(), properties.borrowings(), booksOnLoan.cardinality(),
+                System.currentTimeMillis() - start);
+    }
+
+    // Each table is committed batch by batch, so a load that died part way leaves some of the rows behind. Only
+    // the configured number of rows in every table counts as loaded, anything else needs an empty database.
+    private boolean isLoaded() {
+        long patrons = countGenerated("users");
+        long books = countGenerated("book");
+        long borrowings = countGenerated("borrowing");
+        if (patrons == properties.users() && books == properties.books() && borrowings == properties.borrowings()) {
+            return true;
+        }
+        if (patrons + books + borrowings > 0) {
+            throw new IllegalStateException(("The database holds %d patrons, %d books and %d borrowings of synthetic "
+                    + "data instead of the configured %d, %d and %d. An earlier load failed or used other settings, "
+                    + "start again from an empty database.").formatted(patrons, books, borrowings,
+                    properties.users(), properties.books(), properties.borrowings()));
+        }
+        return false;
+    }
+
+    private long countGenerated(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE created_by = ?", Long.class,
+                CREATED_BY);
+    }
+
+    private long[] insertUsers(SplittableRandom random, LoanTally tally, LocalDateTime end) {
+        long start = System.currentTimeMillis();
+        SequenceIdAllocator ids = idAllocator("users_seq");
+        String password = passwordEncoder.encode(properties.password());
+        Long patronRoleId = roleRepository.findByUserRole(UserRole.ROLE_PATRON).iterator().next().getId();
+        LocalDateTime createdAt = end.minusDays(properties.historyDays());
+
+        TableWriter<User> users = new TableWriter<>("users", List.of("id", "username", "password", "email",
+                "first_name", "last_name", "phone_number", "overdue_fine", "overdue_count", "enabled", "active",
+                "created_at", "created_by", "updated_at", "updated_by"),
+                user -> new Object[]{user.getId(), user.getUsername(), user.getPassword(), user.getEmail(),
+                        user.getFirstName(), user.getLastName(), user.getPhoneNumber(), user.getOverdueFine(),
+                        user.getOverdueCount(), user.isEnabled(), true, createdAt, CREATED_BY, createdAt, CREATED_BY});
+        TableWriter<Long> roles = new TableWriter<>("user_roles", List.of("user_id", "role_id"),
+                userId -> new Object[]{userId, patronRoleId});
+
+        long[] userIds = new long[properties.users()];
+        for (int i = 0; i < userIds.length; i++) {
+            int number = i + 1;
+            User user = User.builder()
+                    .username(username(number))
+                    .password(password)
+                    .email(username(number) + "@example.com")
+                    .firstName(pick(random, FIRST_NAMES))
+                    .lastName(pick(random, LAST_NAMES))
+                    .phoneNumber(String.format("05%09d", number))
+                    .overdueFine(tally.fine(i))
+                    .overdueCount(tally.lateReturns[i])
+                    .enabled(tally.lateReturns[i] < LATE_RETURNS_BEFORE_DISABLING)
+                    .build();
+            user.setId(ids.nextId());
+            userIds[i] = user.getId();
+            users.add(user);
+            roles.add(user.getId());
+        }
+        users.flush();
+        roles.flush();
+        log.info("Inserted {} patrons in {} ms", userIds.length, System.currentTimeMillis() - start);
+        return userIds;
+    }
+
+    private long[] insertBooks(SplittableRandom random, BitSet booksOnLoan, LocalDateTime end) {
+        long start = System.currentTimeMillis();
+        SequenceIdAllocator ids = idAllocator("book_seq");
+        LocalDateTime createdAt = end.minusDays(properties.historyDays());
+
+        TableWriter<Book> books = new TableWriter<>("book", List.of("id", "title", "author", "isbn",
+                "published_date", "price", "genre", "is_available", "active", "created_at", "created_by", "updated_at",
+                "updated_by"),
+                book -> new Object[]{book.getId(), book.getTitle(), book.getAuthor(), book.getIsbn(),
+                        book.getPublishedDate(), book.getPrice(), book.getGenre().name(), book.isAvailable(),
+                        book.isActive(), createdAt, CREATED_BY, createdAt, CREATED_BY});
+
+        long[] bookIds = new long[properties.books()];
+        for (int i = 0; i < bookIds.length; i++) {
+            String title = pick(random, ADJECTIVES) + " " + pick(random, NOUNS);
+            if (random.nextBoolean()) {
+                title += " of " + pick(random, PLACES);
+            }
+            Book book = Book.builder()
+                    .title(title)
+                    .author(pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES))
+                    .isbn(String.format("978%010d", i + 1))
+                    .publishedDate(LocalDate.of(1900, 1, 1).plusDays(random.nextInt(45_000)))
+                    .price(BigDecimal.valueOf(500 + random.nextInt(5_500), 2))
+                    .genre(pick(random, BookGenre.values()))
+                    .isAvailable(!booksOnLoan.get(i))
+                    .build();
+            book.setId(ids.nextId());
+            // One in a hundred titles has been withdrawn from the catalog
+            book.setActive(random.nextInt(100) != 0);
+            bookIds[i] = book.getId();
+            books.add(book);
+        }
+        books.flush();
+        log.info("Inserted {} books in {} ms", bookIds.length, System.currentTimeMillis() - start);
+        return bookIds;
+    }
+
+    private void insertBorrowings(SplittableRandom random, long[] userIds, long[] bookIds, LocalDateTime end) {
+        long start = System.currentTimeMillis();
+        SequenceIdAllocator ids = idAllocator("borrowing_seq");
+        BitSet booksOnLoan = new BitSet(bookIds.length);
+
+        TableWriter<Loan> borrowings = new TableWriter<>("borrowing", List.of("id", "user_id", "book_id", "status",
+                "borrowing_date", "due_date", "return_date", "fine", "active", "created_at", "created_by", "updated_at",
+                "updated_by"),
+                loan -> new Object[]{ids.nextId(), userIds[loan.user()], bookIds[loan.book()], loan.status().name(),
+                        loan.borrowed(), loan.due(), loan.returned(), loan.fine(), true, loan.borrowed(), CREATED_BY,
+                        loan.returned() == null ? loan.borrowed() : loan.returned(), CREATED_BY});
+
+        long logEvery = Math.max(properties.borrowings() / 10, 1);
+        for (long i = 1; i <= properties.borrowings(); i++) {
+            borrowings.add(nextLoan(random, booksOnLoan, end));
+            if (i % logEvery == 0) {
+                log.info("Inserted {} of {} borrowings", i, properties.borrowings());
+            }
+        }
+        borrowings.flush();
+        log.info("Inserted {} borrowings in {} ms", properties.borrowings(), System.currentTimeMillis() - start);
+    }
+
+    private Loan nextLoan(SplittableRandom random, BitSet booksOnLoan, LocalDateTime end) {
+        int user = random.nextInt(properties.users());
+        int book = (int) (properties.books() * Math.pow(random.nextDouble(), POPULARITY_SKEW));
+        double outcome = random.nextDouble();
+
+        if (outcome < properties.openLoanRatio()) {
+            // A copy that is already out is not lent twice, the next free title is taken instead
+            int free = booksOnLoan.nextClearBit(book);
+            if (free >= properties.books()) {
+                free = booksOnLoan.nextClearBit(0);
+            }
+            if (free < properties.books()) {
+                booksOnLoan.set(free);
+                LocalDateTime borrowed = end.minusMinutes(random.nextLong(2L * LOAN_DAYS * MINUTES_PER_DAY));
+                return new Loan(user, free, borrowed, borrowed.plusDays(LOAN_DAYS), null,
+                        BorrowingStatus.BORROWED, BigDecimal.ZERO);
+            }
+        }
+
+        // Returned loans are borrowed early enough to be back, even late, before the reference date
+        long window = Math.max((long) (properties.historyDays() - LOAN_DAYS - MAX_DAYS_LATE) * MINUTES_PER_DAY, 1);
+        LocalDateTime borrowed = end.minusDays(LOAN_DAYS + MAX_DAYS_LATE).minusMinutes(random.nextLong(window));
+        LocalDateTime due = borrowed.plusDays(LOAN_DAYS);
+        if (outcome < properties.openLoanRatio() + properties.lateReturnRatio()) {
+            LocalDateTime returned = due.plusDays(1 + random.nextInt(MAX_DAYS_LATE - 1))
+                    .plusMinutes(random.nextInt(MINUTES_PER_DAY));
+            return new Loan(user, book, borrowed, due, returned, BorrowingStatus.OVERDUE,
+                    FineCalculator.calculateOverdueFine(due, returned));
+        }
+        LocalDateTime returned = borrowed.plusMinutes(60 + random.nextLong((long) LOAN_DAYS * MINUTES_PER_DAY - 60));
+        return new Loan(user, book, borrowed, due, returned, BorrowingStatus.RETURNED, BigDecimal.ZERO);
+    }
+
+    private SequenceIdAllocator idAllocator(String sequenceName) {
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        return new SequenceIdAllocator(jdbcTemplate, dialect, sequenceName, BaseEntity.ID_ALLOCATION_SIZE);
+    }
+
+    private static <T> T pick(SplittableRandom random, T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private record Loan(int user, int book, LocalDateTime borrowed, LocalDateTime due, LocalDateTime returned,
+                        BorrowingStatus status, BigDecimal fine) {
+    }
+
+    private static final class LoanTally {
+
+        private final int[] lateReturns;
+        private final BigDecimal[] fines;
+
+        private LoanTally(int users) {
+            this.lateReturns = new int[users];
+            this.fines = new BigDecimal[users];
+        }
+
+        private void add(Loan loan) {
+            if (loan.status() == BorrowingStatus.OVERDUE) {
+                lateReturns[loan.user()]++;
+                fines[loan.user()] = fine(loan.user()).add(loan.fine());
+            }
+        }
+
+        private BigDecimal fine(int user) {
+            return fines[user] == null ? BigDecimal.ZERO : fines[user];
+        }
+    }
+
+    /**
+     * Buffers rows and writes them a batch at a time, with COPY on PostgreSQL and JDBC statement batches elsewhere.
+     */
+    private final class TableWriter<T> {
+
+        private final String insertSql;
+        private final String copySql;
+        private final Function<T, Object[]> values;
+        private final List<Object[]> rows = new ArrayList<>(properties.batchSize());
+
+        private TableWriter(String table, List<String> columns, Function<T, Object[]> values) {
+            String columnList = String.join(", ", columns);
+            this.insertSql = "INSERT INTO " + table + " (" + columnList + ") VALUES ("
+                    + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+            this.copySql = CopyCsvWriter.copySql(table, columns);
+            this.values = values;
+        }
+
+        private void add(T row) {
+            rows.add(values.apply(row));
+            if (rows.size() == properties.batchSize()) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (rows.isEmpty()) {
+                return;
+            }
+            if (postgres) {
+                copy();
+            } else {
+                jdbcTemplate.batchUpdate(insertSql, rows, rows.size(), (statement, row) -> {
+                    for (int i = 0; i < row.length; i++) {
+                        if (row[i] == null) {
+                            statement.setNull(i + 1, Types.NULL);
+                        } else {
+                            statement.setObject(i + 1, row[i]);
+                        }
+                    }
+                });
+            }
+            rows.clear();
+        }
+
+        private void copy() {
+            CopyCsvWriter csv = new CopyCsvWriter(rows.size());
+            rows.forEach(csv::row);
+            csv.copyIn(jdbcTemplate, copySql);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.edurmus.librarymanagement.model.dto.request;
+
+import java.time.LocalDateTime;
+
+// Filters on the borrowing date, from inclusive and to exclusive
+public record BorrowingHistoryRequest(
+        LocalDateTime from,
+        LocalDateTime to) {
+}
@@ -0,0 +1,10 @@
+package com.edurmus.librarymanagement.model.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(name = "BookImportError", description = "A rejected row of a book import")
+public record BookImportError(
+        long line,
+        String isbn,
+        String message
+) {}
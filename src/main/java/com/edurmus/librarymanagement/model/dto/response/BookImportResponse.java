@@ -0,0 +1,14 @@
+package com.edurmus.librarymanagement.model.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(name = "BookImportResponse", description = "Outcome of a book import, errors are capped while the counts cover every row")
+public record BookImportResponse(
+        long processed,
+        long imported,
+        long rejected,
+        List<BookImportError> errors,
+        long durationMillis
+) {}
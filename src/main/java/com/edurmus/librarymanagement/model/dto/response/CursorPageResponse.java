@@ -0,0 +1,13 @@
+package com.edurmus.librarymanagement.model.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CursorPageResponse<T>(
+        List<T> content,
+        String next,
+        boolean hasNext,
+        Long totalElements
+) {}
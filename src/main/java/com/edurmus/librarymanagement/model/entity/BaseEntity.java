@@ -12,8 +12,15 @@ import java.time.LocalDateTime;
 @Setter
 public abstract class BaseEntity {
 
+    /**
+     * Ids are handed out in blocks of this size from one sequence per entity (book_seq, users_seq, ...),
+     * the database sequences increment by the same amount.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Sequence ids let Hibernate batch inserts, IDENTITY needs a round trip per persist
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     private boolean active = true;
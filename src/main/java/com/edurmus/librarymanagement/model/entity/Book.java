@@ -10,6 +10,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -36,7 +38,10 @@ public class Book extends BaseEntity {
 
     private String description;
 
+    // VARCHAR as in the Liquibase schema, the native H2 enum of create-drop rejects strings bound over R2DBC
     @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(length = 50)
     private BookGenre genre;
 
     private boolean isAvailable = true;
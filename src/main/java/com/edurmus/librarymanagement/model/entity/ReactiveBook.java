@@ -0,0 +1,61 @@
+package com.edurmus.librarymanagement.model.entity;
+
+import com.edurmus.librarymanagement.model.enums.BookGenre;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * R2DBC mapping of the book table, used by the reactive endpoints when the r2dbc profile is active.
+ * The schema is owned by Liquibase and the JPA {@link Book} entity.
+ */
+@Data
+@NoArgsConstructor
+@Table("book")
+public class ReactiveBook {
+
+    @Id
+    private Long id;
+
+    private String title;
+
+    private String author;
+
+    private String isbn;
+
+    private LocalDate publishedDate;
+
+    private BigDecimal price;
+
+    private String description;
+
+    private BookGenre genre;
+
+    private boolean isAvailable = true;
+
+    private boolean active = true;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    private String createdBy;
+
+    private String updatedBy;
+
+    // Same rules as the JPA lifecycle callbacks of BaseEntity, there are none in R2DBC
+    public void updateAuditFields(String username) {
+        LocalDateTime currentTime = LocalDateTime.now();
+        if (this.createdAt == null) {
+            this.createdAt = currentTime;
+            this.createdBy = username;
+        }
+        this.updatedAt = currentTime;
+        this.updatedBy = username;
+    }
+}
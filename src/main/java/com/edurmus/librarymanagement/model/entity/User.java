@@ -48,6 +48,10 @@ public class User extends BaseEntity implements UserDetails {
     @Column(name = "overdue_fine")
     private BigDecimal overdueFine = BigDecimal.ZERO;
 
+    // Number of books returned late, maintained on every overdue return
+    @Column(name = "overdue_count", nullable = false)
+    private int overdueCount;
+
     @Column(name = "enabled")
     private boolean enabled = true;
 
@@ -0,0 +1,8 @@
+package com.edurmus.librarymanagement.model.enums;
+
+public enum AuthenticationMode {
+    // Authorities are taken from the verified token, the user is only checked against a short lived status cache
+    CLAIMS,
+    // The user details are loaded through the UserDetailsService on every request
+    DATABASE
+}
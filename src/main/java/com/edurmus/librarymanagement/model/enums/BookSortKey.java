@@ -0,0 +1,14 @@
+package com.edurmus.librarymanagement.model.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum BookSortKey {
+    ID("id"),
+    TITLE("title"),
+    AUTHOR("author");
+
+    private final String property;
+}
@@ -0,0 +1,23 @@
+package com.edurmus.librarymanagement.model.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+
+@Getter
+@RequiredArgsConstructor
+public enum ImportFormat {
+    NDJSON("application/x-ndjson"),
+    CSV("text/csv");
+
+    private final String mediaType;
+
+    public static ImportFormat fromMediaType(MediaType mediaType) {
+        for (ImportFormat format : values()) {
+            if (mediaType.equalsTypeAndSubtype(MediaType.parseMediaType(format.mediaType))) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported import media type: " + mediaType);
+    }
+}
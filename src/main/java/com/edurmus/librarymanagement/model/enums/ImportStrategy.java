@@ -0,0 +1,8 @@
+package com.edurmus.librarymanagement.model.enums;
+
+public enum ImportStrategy {
+    // COPY on PostgreSQL, JDBC batches on any other database
+    AUTO,
+    BATCH,
+    COPY
+}
@@ -0,0 +1,5 @@
+package com.edurmus.librarymanagement.model.event;
+
+// Published when the roles, enabled or active state of a user may have changed
+public record UserChangedEvent(String username) {
+}
@@ -4,6 +4,7 @@ package com.edurmus.librarymanagement.model.mapper;
 import com.edurmus.librarymanagement.model.dto.request.BookRequest;
 import com.edurmus.librarymanagement.model.dto.response.BookResponse;
 import com.edurmus.librarymanagement.model.entity.Book;
+import com.edurmus.librarymanagement.model.entity.ReactiveBook;
 import org.mapstruct.*;
 import org.mapstruct.factory.Mappers;
 
@@ -20,4 +21,16 @@ public interface BookMapper {
                 nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS)
     void updateEntity(@MappingTarget Book book, BookRequest bookRequest);
 
+    ReactiveBook toReactiveEntity(BookRequest bookRequest);
+
+    BookResponse toDto(ReactiveBook book);
+
+    // The Lombok builder of Book does not cover the id and flags inherited from BaseEntity
+    @BeanMapping(builder = @Builder(disableBuilder = true))
+    Book toEntity(ReactiveBook book);
+
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE,
+                nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS)
+    void updateEntity(@MappingTarget ReactiveBook book, BookRequest bookRequest);
+
 }
@@ -0,0 +1,16 @@
+package com.edurmus.librarymanagement.model.projection;
+
+import java.math.BigDecimal;
+
+public interface UserOverdueSummary {
+
+    String getFirstName();
+
+    String getLastName();
+
+    String getEmail();
+
+    long getOverdueCount();
+
+    BigDecimal getTotalFine();
+}
@@ -0,0 +1,12 @@
+package com.edurmus.librarymanagement.model.projection;
+
+import com.edurmus.librarymanagement.model.enums.UserRole;
+
+public interface UserRoleStatus {
+
+    boolean isEnabled();
+
+    boolean isActive();
+
+    UserRole getUserRole();
+}
@@ -1,17 +1,47 @@
 package com.edurmus.librarymanagement.repository;
 
 import com.edurmus.librarymanagement.model.entity.Book;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book> {
 
-    List<Book> findAllByActiveIsTrue();
-
     List<Book> findAllByIsAvailableIsTrueAndActiveIsTrue();
 
+    // Claims the book in a single statement; returns 0 when it is missing or already borrowed
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Book b SET b.isAvailable = false, b.updatedAt = :updatedAt, b.updatedBy = :updatedBy " +
+            "WHERE b.id = :id AND b.isAvailable = true")
+    int markAsBorrowed(Long id, LocalDateTime updatedAt, String updatedBy);
+
+    Slice<Book> findByActiveIsTrueAndIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    Slice<Book> findByIsAvailableIsTrueAndActiveIsTrueAndIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    // Must be consumed inside a transaction; rows are fetched from a cursor in fetch size chunks
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b FROM Book b WHERE b.active = true ORDER BY b.id")
+    Stream<Book> streamAllByActiveIsTrue();
+
+    @Query("SELECT b.isbn FROM Book b WHERE b.isbn IN :isbns")
+    Set<String> findExistingIsbns(Collection<String> isbns);
+
 }
@@ -1,21 +1,54 @@
 package com.edurmus.librarymanagement.repository;
 
+import com.edurmus.librarymanagement.model.dto.response.BorrowingDTO;
 import com.edurmus.librarymanagement.model.entity.Borrowing;
-import com.edurmus.librarymanagement.model.entity.User;
+import com.edurmus.librarymanagement.model.projection.UserOverdueSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface BorrowingRepository extends JpaRepository<Borrowing, Long> {
 
-    @Query("SELECT COUNT(b) FROM Borrowing b WHERE b.returnDate IS NOT NULL AND b.user.id = :userId AND b.returnDate > b.dueDate")
-    long countByUserIdAndReturnDateAfterDueDate(Long userId);
+    // Null filter parameters are ignored. The user is looked up by a subquery so the count does not join the users table
+    String HISTORY_SELECT = "SELECT new com.edurmus.librarymanagement.model.dto.response.BorrowingDTO(" +
+            "b.id, u.username, bk.title, b.status, b.borrowingDate, b.dueDate, b.returnDate, b.fine) " +
+            "FROM Borrowing b JOIN b.user u JOIN b.book bk ";
+    String HISTORY_FILTER = "WHERE (:username IS NULL OR b.user.id = " +
+            "(SELECT filtered.id FROM User filtered WHERE filtered.username = :username)) " +
+            "AND (CAST(:from AS LocalDateTime) IS NULL OR b.borrowingDate >= :from) " +
+            "AND (CAST(:to AS LocalDateTime) IS NULL OR b.borrowingDate < :to) ";
 
-    @Query("SELECT b FROM Borrowing b WHERE b.returnDate IS NOT NULL AND b.returnDate > b.dueDate")
-    List<Borrowing> findByReturnDateAfterAndDueDate();
+    @Query(value = HISTORY_SELECT + HISTORY_FILTER + "ORDER BY b.id",
+            countQuery = "SELECT COUNT(b) FROM Borrowing b " + HISTORY_FILTER)
+    Page<BorrowingDTO> findHistory(String username, LocalDateTime from, LocalDateTime to, Pageable pageable);
 
-    List<Borrowing> findByUser(User user);
+    @Query(HISTORY_SELECT + HISTORY_FILTER + "AND b.id > :afterId ORDER BY b.id")
+    List<BorrowingDTO> findHistoryAfter(String username, LocalDateTime from, LocalDateTime to, Long afterId,
+                                        Pageable pageable);
+
+    // Must be consumed inside a transaction; rows are fetched from a cursor in fetch size chunks
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(HISTORY_SELECT + HISTORY_FILTER + "ORDER BY b.id")
+    Stream<BorrowingDTO> streamHistory(String username, LocalDateTime from, LocalDateTime to);
+
+    @Query("SELECT u.firstName AS firstName, u.lastName AS lastName, u.email AS email, " +
+            "COUNT(b) AS overdueCount, COALESCE(SUM(b.fine), 0) AS totalFine " +
+            "FROM Borrowing b JOIN b.user u " +
+            "WHERE b.returnDate IS NOT NULL AND b.returnDate > b.dueDate " +
+            "GROUP BY u.id, u.firstName, u.lastName, u.email " +
+            "ORDER BY u.id")
+    List<UserOverdueSummary> findOverdueSummaries();
 }
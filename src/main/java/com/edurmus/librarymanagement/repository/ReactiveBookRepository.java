@@ -0,0 +1,13 @@
+package com.edurmus.librarymanagement.repository;
+
+import com.edurmus.librarymanagement.model.entity.ReactiveBook;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+
+public interface ReactiveBookRepository extends R2dbcRepository<ReactiveBook, Long> {
+
+    Flux<ReactiveBook> findByActiveIsTrueAndIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    Flux<ReactiveBook> findByIsAvailableIsTrueAndActiveIsTrueAndIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+}
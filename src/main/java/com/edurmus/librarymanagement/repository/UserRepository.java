@@ -1,8 +1,13 @@
 package com.edurmus.librarymanagement.repository;
 
 import com.edurmus.librarymanagement.model.entity.User;
+import com.edurmus.librarymanagement.model.projection.UserRoleStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -13,4 +18,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     boolean existsByEmail(String email);
 
+    // One row per role, without loading the user entity
+    @Query("SELECT u.enabled AS enabled, u.active AS active, r.userRole AS userRole " +
+            "FROM User u LEFT JOIN u.roles r WHERE u.username = :username")
+    List<UserRoleStatus> findRoleStatusByUsername(String username);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.username = :username")
+    int updatePassword(String username, String password);
+
 }
@@ -1,27 +1,80 @@
 package com.edurmus.librarymanagement.security;
 
+import com.edurmus.librarymanagement.config.UserDetailsCacheProperties;
 import com.edurmus.librarymanagement.model.entity.User;
+import com.edurmus.librarymanagement.model.event.UserChangedEvent;
 import com.edurmus.librarymanagement.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
-
-import java.util.Optional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
-public class CustomUserDetails implements UserDetailsService {
+public class CustomUserDetails implements UserDetailsService, UserDetailsPasswordService {
+
+    static final String CACHE_NAME = "security.user-details";
 
     private final UserRepository userRepository;
+    // Immutable snapshots, so cached entries never hold a managed entity
+    private final Cache<String, UserDetails> users;
+
+    public CustomUserDetails(UserRepository userRepository, UserDetailsCacheProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(properties.size())
+                .expireAfterWrite(properties.ttl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, CACHE_NAME);
+    }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        Optional<User> user = userRepository.findByUsername(username);
-        return user.orElseThrow(() -> new UsernameNotFoundException("User '" + username + "' not found"));
+        UserDetails cached = users.get(username, this::load);
+        // Authentication erases the password of its principal, every caller gets its own copy
+        return org.springframework.security.core.userdetails.User.withUserDetails(cached).build();
+    }
+
+    // Called after a successful login when the stored hash was made with another BCrypt cost
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePassword(user.getUsername(), newPassword);
+        users.invalidate(user.getUsername());
+        log.debug("Rehashed password of user '{}'", user.getUsername());
+        return org.springframework.security.core.userdetails.User.withUserDetails(user)
+                .password(newPassword)
+                .build();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        log.debug("Evicting cached details of user '{}'", event.username());
+        users.invalidate(event.username());
+    }
+
+    private UserDetails load(String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User '" + username + "' not found"));
+        return org.springframework.security.core.userdetails.User.withUsername(user.getUsername())
+                .password(user.getPassword())
+                .authorities(user.getAuthorities().stream()
+                        .map(authority -> new SimpleGrantedAuthority(authority.getAuthority()))
+                        .toList())
+                .disabled(!user.isEnabled())
+                .accountExpired(!user.isAccountNonExpired())
+                .accountLocked(!user.isAccountNonLocked())
+                .credentialsExpired(!user.isCredentialsNonExpired())
+                .build();
     }
 }
@@ -1,65 +1,99 @@
 package com.edurmus.librarymanagement.security;
 
 
+import com.edurmus.librarymanagement.config.JwtAuthenticationProperties;
+import com.edurmus.librarymanagement.model.enums.AuthenticationMode;
 import com.edurmus.librarymanagement.util.JwtUtil;
+import com.edurmus.librarymanagement.util.VerifiedToken;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 @Slf4j
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    private final VerifiedTokenCache verifiedTokenCache;
     private final UserDetailsService userDetailsService;
+    private final UserStatusCache userStatusCache;
+    private final JwtAuthenticationProperties properties;
+    // Async dispatches (Mono, Flux and streamed responses) skip this filter and restore the context from here
+    private final SecurityContextRepository securityContextRepository = new RequestAttributeSecurityContextRepository();
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, VerifiedTokenCache verifiedTokenCache,
+                                   UserDetailsService userDetailsService, UserStatusCache userStatusCache,
+                                   JwtAuthenticationProperties properties) {
         this.jwtUtil = jwtUtil;
+        this.verifiedTokenCache = verifiedTokenCache;
         this.userDetailsService = userDetailsService;
+        this.userStatusCache = userStatusCache;
+        this.properties = properties;
     }
 
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
             String jwtToken = authHeader.substring(7);
-            String username = jwtUtil.extractUsername(jwtToken);
-
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             try {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                if (jwtUtil.validateToken(jwtToken, userDetails)) {
-                    UsernamePasswordAuthenticationToken authentication =
-                            new UsernamePasswordAuthenticationToken(
-                                    userDetails,
-                                    null,
-                                    userDetails.getAuthorities()
-                            );
-
+                VerifiedToken token = verifiedTokenCache.verify(jwtToken);
+                UsernamePasswordAuthenticationToken authentication = properties.mode() == AuthenticationMode.CLAIMS
+                        ? authenticateFromClaims(token)
+                        : authenticateFromUserDetails(token);
+                if (authentication != null) {
                     authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authentication);
+                    securityContextRepository.saveContext(SecurityContextHolder.getContext(), request, response);
                 }
             }
+            catch (JwtException e) {
+                log.debug("Rejected invalid token : " + e.getMessage());
+            }
             catch (Exception e) {
                 log.error("Error occurred while setting security context : " + e.getMessage());
             }
         }
+        filterChain.doFilter(request, response);
 
+    }
+
+    private UsernamePasswordAuthenticationToken authenticateFromClaims(VerifiedToken token) {
+        if (!userStatusCache.get(token.username()).allows(token.roles())) {
+            log.warn("Rejected token of user '{}', the user is disabled or no longer has the roles {}",
+                    token.username(), token.roles());
+            return null;
         }
-        filterChain.doFilter(request, response);
+        List<SimpleGrantedAuthority> authorities = token.roles().stream()
+                .map(SimpleGrantedAuthority::new)
+                .toList();
+        return new UsernamePasswordAuthenticationToken(token.username(), null, authorities);
+    }
 
+    private UsernamePasswordAuthenticationToken authenticateFromUserDetails(VerifiedToken token) {
+        UserDetails userDetails = userDetailsService.loadUserByUsername(token.username());
+        if (!jwtUtil.validateToken(token, userDetails)) {
+            return null;
+        }
+        return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
     }
 
 }
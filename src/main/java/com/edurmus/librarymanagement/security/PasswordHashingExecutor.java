@@ -0,0 +1,49 @@
+package com.edurmus.librarymanagement.security;
+
+import com.edurmus.librarymanagement.config.PasswordHashingProperties;
+import com.edurmus.librarymanagement.exception.user.LoginCapacityExceededException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool that runs password verification away from the request threads.
+ * When every hashing thread is busy and the queue is full, new work fails fast
+ * instead of piling up behind the burst.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    static final String EXECUTOR_NAME = "password-hashing";
+
+    private final ThreadPoolExecutor threadPool;
+    private final ExecutorService executor;
+
+    public PasswordHashingExecutor(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        this.threadPool = new ThreadPoolExecutor(properties.threads(), properties.threads(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.queueCapacity()),
+                new CustomizableThreadFactory(EXECUTOR_NAME + "-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, threadPool, EXECUTOR_NAME);
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(
+                    new LoginCapacityExceededException("Too many logins in progress, please retry shortly"));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        threadPool.shutdown();
+    }
+}
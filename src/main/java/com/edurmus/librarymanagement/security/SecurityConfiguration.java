@@ -1,6 +1,13 @@
 package com.edurmus.librarymanagement.security;
 
 
+import com.edurmus.librarymanagement.config.JwtAuthenticationProperties;
+import com.edurmus.librarymanagement.config.PasswordHashingProperties;
+import com.edurmus.librarymanagement.config.UserDetailsCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.context.WebServerApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -10,13 +17,17 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.web.context.support.WebApplicationContextUtils;
 
 @Configuration
 @EnableWebSecurity
+@EnableConfigurationProperties({JwtAuthenticationProperties.class, UserDetailsCacheProperties.class,
+        PasswordHashingProperties.class})
 @EnableMethodSecurity
 public class SecurityConfiguration {
 
@@ -36,9 +47,9 @@ public class SecurityConfiguration {
                         .requestMatchers("/auth/register", "/auth/login").permitAll()
                         .requestMatchers("/h2-console/**").permitAll()
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
-                        // Reactive endpoints are not fully compatible with traditional Spring Security configuration,
-                        //  Therefore, access is temporarily permitted for these test-only endpoints.
-                        .requestMatchers("/api/reactive/books/**").permitAll()
+                        // scraped without a token, but only on the management port, which stays internal
+                        .requestMatchers(new AndRequestMatcher(SecurityConfiguration::isManagementServer,
+                                AntPathRequestMatcher.antMatcher("/actuator/prometheus"))).permitAll()
                         .anyRequest().authenticated()
                 )
                 .headers(headers -> headers.
@@ -49,6 +60,11 @@ public class SecurityConfiguration {
         return http.build();
     }
 
+    private static boolean isManagementServer(HttpServletRequest request) {
+        return WebServerApplicationContext.hasServerNamespace(
+                WebApplicationContextUtils.getWebApplicationContext(request.getServletContext()), "management");
+    }
+
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration authenticationConfiguration) throws Exception {
         return authenticationConfiguration.getAuthenticationManager();
@@ -56,8 +72,8 @@ public class SecurityConfiguration {
 
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        return new AdaptivePasswordEncoder(properties.strength(), meterRegistry);
     }
 
 
@@ -0,0 +1,75 @@
+package com.edurmus.librarymanagement.security;
+
+import com.edurmus.librarymanagement.config.JwtAuthenticationProperties;
+import com.edurmus.librarymanagement.model.event.UserChangedEvent;
+import com.edurmus.librarymanagement.model.projection.UserRoleStatus;
+import com.edurmus.librarymanagement.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Short lived, in-memory view of whether a user may still use the tokens issued to them.
+ * Local changes evict the user right after commit, changes made on other nodes are picked up when the entry expires.
+ */
+@Slf4j
+@Component
+public class UserStatusCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, UserStatus> statuses;
+
+    public UserStatusCache(UserRepository userRepository, JwtAuthenticationProperties properties) {
+        this.userRepository = userRepository;
+        this.statuses = Caffeine.newBuilder()
+                .maximumSize(properties.userStatusCacheSize())
+                .expireAfterWrite(properties.userStatusTtl())
+                .build();
+    }
+
+    public UserStatus get(String username) {
+        return statuses.get(username, this::load);
+    }
+
+    public void evict(String username) {
+        statuses.invalidate(username);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        log.debug("Evicting cached status of user '{}'", event.username());
+        evict(event.username());
+    }
+
+    private UserStatus load(String username) {
+        List<UserRoleStatus> rows = userRepository.findRoleStatusByUsername(username);
+        if (rows.isEmpty()) {
+            return UserStatus.UNKNOWN;
+        }
+        UserRoleStatus first = rows.get(0);
+        Set<String> roles = rows.stream()
+                .map(UserRoleStatus::getUserRole)
+                .filter(Objects::nonNull)
+                .map(Enum::name)
+                .collect(Collectors.toUnmodifiableSet());
+        return new UserStatus(first.isEnabled() && first.isActive(), roles);
+    }
+
+    public record UserStatus(boolean enabled, Set<String> roles) {
+
+        static final UserStatus UNKNOWN = new UserStatus(false, Set.of());
+
+        // A token is only honoured while the user is enabled and still holds every role it claims
+        public boolean allows(Collection<String> claimedRoles) {
+            return enabled && roles.containsAll(claimedRoles);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.edurmus.librarymanagement.security;
+
+import com.edurmus.librarymanagement.config.JwtAuthenticationProperties;
+import com.edurmus.librarymanagement.util.JwtUtil;
+import com.edurmus.librarymanagement.util.VerifiedToken;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Recently verified tokens, keyed by the SHA-256 of the compact token, so a reused bearer token is verified once.
+ * Only successfully verified tokens are cached and an entry is dropped at the latest when its token expires.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    static final String CACHE_NAME = "jwt.verified-tokens";
+    static final String TIMER_NAME = "security.jwt.verification";
+
+    private final JwtUtil jwtUtil;
+    private final Cache<String, VerifiedToken> tokens;
+    private final Timer verificationTimer;
+
+    public VerifiedTokenCache(JwtUtil jwtUtil, JwtAuthenticationProperties properties, MeterRegistry meterRegistry) {
+        this.jwtUtil = jwtUtil;
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(properties.tokenCacheSize())
+                .expireAfter(new TokenExpiry(properties.tokenCacheTtl()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, tokens, CACHE_NAME);
+        this.verificationTimer = Timer.builder(TIMER_NAME)
+                .description("Time spent verifying the signature of tokens missing from the cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @throws io.jsonwebtoken.JwtException if the token is not in the cache and fails verification
+     */
+    public VerifiedToken verify(String token) {
+        return tokens.get(hash(token), key -> verificationTimer.record(() -> jwtUtil.verify(token)));
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record TokenExpiry(Duration ttl) implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String hash, VerifiedToken token, long currentTime) {
+            long untilExpiry = Duration.between(Instant.now(), token.expiresAt()).toNanos();
+            return Math.max(0, Math.min(untilExpiry, ttl.toNanos()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String hash, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String hash, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.edurmus.librarymanagement.service;
+
+import com.edurmus.librarymanagement.model.dto.response.BookImportResponse;
+import com.edurmus.librarymanagement.model.enums.ImportFormat;
+
+import java.io.InputStream;
+
+public interface BookImportService {
+
+    BookImportResponse importBooks(InputStream inputStream, ImportFormat format);
+}
@@ -3,8 +3,13 @@ package com.edurmus.librarymanagement.service;
 import com.edurmus.librarymanagement.model.dto.request.BookRequest;
 import com.edurmus.librarymanagement.model.dto.request.BookSearchRequest;
 import com.edurmus.librarymanagement.model.dto.response.BookResponse;
+import com.edurmus.librarymanagement.model.dto.response.CursorPageResponse;
+import com.edurmus.librarymanagement.model.enums.BookSortKey;
+import com.edurmus.librarymanagement.model.enums.ExportFormat;
 import org.springframework.data.domain.Page;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface BookService {
@@ -13,7 +18,9 @@ public interface BookService {
     BookResponse update(Long id, BookRequest bookRequest);
     void deleteById(Long id);
     BookResponse getById(Long id);
-    List<BookResponse> getAll();
+    void exportActiveBooks(OutputStream outputStream, ExportFormat format) throws IOException;
     List<BookResponse> findByIsAvailable();
     Page<BookResponse> searchBooks(BookSearchRequest bookSearchRequest, int page, int size);
+    CursorPageResponse<BookResponse> scrollBooks(BookSearchRequest bookSearchRequest, BookSortKey sortKey,
+                                                 String after, int size, boolean withTotal);
 }
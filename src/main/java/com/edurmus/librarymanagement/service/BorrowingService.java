@@ -1,10 +1,14 @@
 package com.edurmus.librarymanagement.service;
 
+import com.edurmus.librarymanagement.model.dto.request.BorrowingHistoryRequest;
 import com.edurmus.librarymanagement.model.dto.response.BorrowingDTO;
 import com.edurmus.librarymanagement.model.dto.response.BorrowingSuccessResponse;
+import com.edurmus.librarymanagement.model.dto.response.CursorPageResponse;
 import com.edurmus.librarymanagement.model.dto.response.ReturnBookResponse;
+import org.springframework.data.domain.Page;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.OutputStream;
 
 public interface BorrowingService {
 
@@ -12,9 +16,17 @@ public interface BorrowingService {
 
     ReturnBookResponse returnBook(Long borrowingId);
 
-    List<BorrowingDTO> getUserBorrowingHistory();
+    Page<BorrowingDTO> getUserBorrowingHistory(BorrowingHistoryRequest historyRequest, int page, int size);
 
-    List<BorrowingDTO> getAllBorrowingHistory();
+    CursorPageResponse<BorrowingDTO> scrollUserBorrowingHistory(BorrowingHistoryRequest historyRequest, String after, int size);
+
+    void exportUserBorrowingHistory(BorrowingHistoryRequest historyRequest, OutputStream outputStream) throws IOException;
+
+    Page<BorrowingDTO> getAllBorrowingHistory(BorrowingHistoryRequest historyRequest, int page, int size);
+
+    CursorPageResponse<BorrowingDTO> scrollAllBorrowingHistory(BorrowingHistoryRequest historyRequest, String after, int size);
+
+    void exportAllBorrowingHistory(BorrowingHistoryRequest historyRequest, OutputStream outputStream) throws IOException;
 
     String generateOverdueReport();
 
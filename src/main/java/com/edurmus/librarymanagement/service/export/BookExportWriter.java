@@ -0,0 +1,101 @@
+package com.edurmus.librarymanagement.service.export;
+
+import com.edurmus.librarymanagement.model.dto.response.BookResponse;
+import com.edurmus.librarymanagement.model.enums.ExportFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes books to an output stream one at a time, so an export never holds more than one row in memory.
+ * The underlying stream is flushed but not closed.
+ */
+public abstract class BookExportWriter implements Closeable {
+
+    public static BookExportWriter open(OutputStream outputStream, ExportFormat format, ObjectMapper objectMapper)
+            throws IOException {
+        return switch (format) {
+            case JSON -> new JsonWriter(outputStream, objectMapper, false);
+            case NDJSON -> new JsonWriter(outputStream, objectMapper, true);
+            case CSV -> new CsvWriter(outputStream);
+        };
+    }
+
+    public abstract void write(BookResponse book) throws IOException;
+
+    private static class JsonWriter extends BookExportWriter {
+
+        private final JsonGenerator generator;
+        private final boolean lineDelimited;
+
+        JsonWriter(OutputStream outputStream, ObjectMapper objectMapper, boolean lineDelimited) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(outputStream)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.lineDelimited = lineDelimited;
+            if (!lineDelimited) {
+                generator.writeStartArray();
+            }
+        }
+
+        @Override
+        public void write(BookResponse book) throws IOException {
+            generator.writeObject(book);
+            if (lineDelimited) {
+                generator.writeRaw('\n');
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!lineDelimited) {
+                generator.writeEndArray();
+            }
+            generator.close();
+        }
+    }
+
+    private static class CsvWriter extends BookExportWriter {
+
+        private static final String HEADER = "id,title,author,isbn,publishedDate,price,genre,description,available";
+
+        private final Writer writer;
+
+        CsvWriter(OutputStream outputStream) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            writer.write(HEADER);
+            writer.write('\n');
+        }
+
+        @Override
+        public void write(BookResponse book) throws IOException {
+            writer.write(String.join(",",
+                    String.valueOf(book.id()),
+                    escape(book.title()),
+                    escape(book.author()),
+                    escape(book.isbn()),
+                    book.publishedDate() == null ? "" : book.publishedDate().toString(),
+                    String.valueOf(book.price()),
+                    book.genre() == null ? "" : book.genre().name(),
+                    escape(book.description()),
+                    String.valueOf(book.available())));
+            writer.write('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+
+        private static String escape(String value) {
+            if (value == null) {
+                return "";
+            }
+            if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+                return '"' + value.replace("\"", "\"\"") + '"';
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.edurmus.librarymanagement.service.impl;
+
+import com.edurmus.librarymanagement.config.BookImportProperties;
+import com.edurmus.librarymanagement.exception.book.BookImportException;
+import com.edurmus.librarymanagement.model.dto.request.BookRequest;
+import com.edurmus.librarymanagement.model.dto.response.BookImportError;
+import com.edurmus.librarymanagement.model.dto.response.BookImportResponse;
+import com.edurmus.librarymanagement.model.entity.Book;
+import com.edurmus.librarymanagement.model.enums.ImportFormat;
+import com.edurmus.librarymanagement.model.mapper.BookMapper;
+import com.edurmus.librarymanagement.repository.BookRepository;
+import com.edurmus.librarymanagement.service.BookImportService;
+import com.edurmus.librarymanagement.service.imports.BookBatchInserter;
+import com.edurmus.librarymanagement.service.imports.BookImportReader;
+import com.edurmus.librarymanagement.service.imports.SequenceIdAllocator;
+import com.edurmus.librarymanagement.service.index.BookSearchIndex;
+import com.edurmus.librarymanagement.util.SecurityUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class BookImportServiceImpl implements BookImportService {
+
+    private final BookRepository bookRepository;
+    private final BookBatchInserter bookBatchInserter;
+    private final SequenceIdAllocator bookIdAllocator;
+    private final BookSearchIndex bookSearchIndex;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final BookImportProperties properties;
+
+    public BookImportServiceImpl(BookRepository bookRepository, BookBatchInserter bookBatchInserter,
+                                 SequenceIdAllocator bookIdAllocator, BookSearchIndex bookSearchIndex, Validator validator, ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager, BookImportProperties properties) {
+        this.bookRepository = bookRepository;
+        this.bookBatchInserter = bookBatchInserter;
+        this.bookIdAllocator = bookIdAllocator;
+        this.bookSearchIndex = bookSearchIndex;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+    }
+
+    // Every batch commits on its own, a failed row never rolls back the rows imported before it
+    @Override
+    public BookImportResponse importBooks(InputStream inputStream, ImportFormat format) {
+        long start = System.currentTimeMillis();
+        String username = SecurityUtils.getCurrentUserName();
+        ImportReport report = new ImportReport(properties.maxReportedErrors());
+        Set<String> seenIsbns = new HashSet<>();
+        List<PendingBook> batch = new ArrayList<>(properties.batchSize());
+
+        try (BookImportReader reader = BookImportReader.open(inputStream, format, objectMapper)) {
+            BookImportReader.Row row;
+            while ((row = reader.next()) != null) {
+                report.processed++;
+                String isbn = row.book() == null ? null : row.book().isbn();
+                String error = row.error() != null ? row.error() : validate(row.book());
+                Book book = null;
+                if (error == null) {
+                    try {
+                        book = BookMapper.INSTANCE.toEntity(row.book());
+                    } catch (IllegalArgumentException e) {
+                        error = "genre: Invalid book genre " + row.book().genre();
+                    }
+                }
+                if (error == null && !seenIsbns.add(isbn)) {
+                    error = "Duplicate ISBN within the import";
+                }
+                if (error != null) {
+                    report.reject(row.line(), isbn, error);
+                    continue;
+                }
+                batch.add(new PendingBook(row.line(), book));
+                if (batch.size() == properties.batchSize()) {
+                    flush(batch, username, report);
+                    batch.clear();
+                }
+            }
+            flush(batch, username, report);
+        } catch (IOException e) {
+            throw new BookImportException("Failed to read the book import: " + e.getMessage(), e);
+        }
+
+        long duration = System.currentTimeMillis() - start;
+        log.info("Book import by {} finished in {} ms: {} processed, {} imported, {} rejected",
+                username, duration, report.processed, report.imported, report.rejected);
+        return new BookImportResponse(report.processed, report.imported, report.rejected,
+                List.copyOf(report.errors), duration);
+    }
+
+    private String validate(BookRequest book) {
+        Set<ConstraintViolation<BookRequest>> violations = validator.validate(book);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private void flush(List<PendingBook> batch, String username, ImportReport report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Set<String> existingIsbns = bookRepository.findExistingIsbns(
+                batch.stream().map(pending -> pending.book().getIsbn()).toList());
+        List<PendingBook> newBooks = new ArrayList<>(batch.size());
+        for (PendingBook pending : batch) {
+            if (existingIsbns.contains(pending.book().getIsbn())) {
+                report.reject(pending.line(), pending.book().getIsbn(), "A book with this ISBN already exists");
+            } else {
+                pending.book().setId(bookIdAllocator.nextId());
+                newBooks.add(pending);
+            }
+        }
+        if (newBooks.isEmpty()) {
+            return;
+        }
+
+        List<Book> imported = new ArrayList<>(newBooks.size());
+        try {
+            List<Book> books = newBooks.stream().map(PendingBook::book).toList();
+            insert(books, username);
+            imported.addAll(books);
+        } catch (DataAccessException batchFailure) {
+            // One bad row fails the whole batch, retry row by row to import the rest and report the culprit
+            log.debug("Book import batch failed, retrying row by row: {}", batchFailure.getMessage());
+            for (PendingBook pending : newBooks) {
+                try {
+                    insert(List.of(pending.book()), username);
+                    imported.add(pending.book());
+                } catch (DataAccessException rowFailure) {
+                    report.reject(pending.line(), pending.book().getIsbn(),
+                            NestedExceptionUtils.getMostSpecificCause(rowFailure).getMessage());
+                }
+            }
+        }
+        report.imported += imported.size();
+        imported.forEach(bookSearchIndex::index);
+    }
+
+    private void insert(List<Book> books, String username) {
+        transactionTemplate.executeWithoutResult(status -> bookBatchInserter.insert(books, username));
+    }
+
+    private record PendingBook(long line, Book book) {}
+
+    private static class ImportReport {
+
+        private final int maxReportedErrors;
+        private final List<BookImportError> errors = new ArrayList<>();
+        private long processed;
+        private long imported;
+        private long rejected;
+
+        ImportReport(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        void reject(long line, String isbn, String message) {
+            rejected++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new BookImportError(line, isbn, message));
+            }
+        }
+    }
+}
@@ -5,22 +5,42 @@ import com.edurmus.librarymanagement.exception.book.BookSaveException;
 import com.edurmus.librarymanagement.model.dto.request.BookRequest;
 import com.edurmus.librarymanagement.model.dto.request.BookSearchRequest;
 import com.edurmus.librarymanagement.model.dto.response.BookResponse;
+import com.edurmus.librarymanagement.model.dto.response.CursorPageResponse;
 import com.edurmus.librarymanagement.model.entity.Book;
+import com.edurmus.librarymanagement.model.enums.BookSortKey;
+import com.edurmus.librarymanagement.model.enums.ExportFormat;
 import com.edurmus.librarymanagement.model.mapper.BookMapper;
 import com.edurmus.librarymanagement.repository.BookRepository;
 import com.edurmus.librarymanagement.service.BookService;
+import com.edurmus.librarymanagement.service.export.BookExportWriter;
+import com.edurmus.librarymanagement.service.index.BookSearchIndex;
 import com.edurmus.librarymanagement.service.specification.GenericSpecification;
+import com.edurmus.librarymanagement.util.CursorUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -28,6 +48,9 @@ import java.util.stream.Collectors;
 public class BookServiceImpl implements BookService {
 
     private final BookRepository bookRepository;
+    private final BookSearchIndex bookSearchIndex;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
 
     @Override
     @Transactional
@@ -36,6 +59,7 @@ public class BookServiceImpl implements BookService {
             Book book = BookMapper.INSTANCE.toEntity(bookRequest);
             book.setAvailable(true);
             Book savedBook = bookRepository.save(book);
+            afterCommit(() -> bookSearchIndex.index(savedBook));
             log.info("Book saved: {}", savedBook.getTitle());
             return BookMapper.INSTANCE.toDto(savedBook);
         } catch (Exception e) {
@@ -51,6 +75,7 @@ public class BookServiceImpl implements BookService {
                     .orElseThrow(() -> new BookNotFoundException("Book not found for the update with id: " + id));
             BookMapper.INSTANCE.updateEntity(book, bookRequest);
             Book updatedBook = bookRepository.save(book);
+            afterCommit(() -> bookSearchIndex.index(updatedBook));
             log.info("Book updated: {}", updatedBook.getTitle());
             return BookMapper.INSTANCE.toDto(updatedBook);
         } catch (Exception e) {
@@ -66,6 +91,7 @@ public class BookServiceImpl implements BookService {
                     .orElseThrow(() -> new BookNotFoundException("Book not found for the delete with id: " + id));
             book.setActive(false);
             bookRepository.save(book);
+            afterCommit(() -> bookSearchIndex.remove(id));
             log.info("Book with ID {} set as inactive", book.getId());
         } catch (Exception e) {
             throw new BookSaveException("Failed to delete the book: " + e.getMessage(), e);
@@ -87,16 +113,19 @@ public class BookServiceImpl implements BookService {
     }
 
     @Override
-    public List<BookResponse> getAll() {
-        try {
-            return bookRepository.findAllByActiveIsTrue()
-                    .stream()
-                    .map(BookMapper.INSTANCE::toDto)
-                    .collect(Collectors.toList());
-        } catch (Exception e) {
-            log.error("Error fetching all books: {}", e.getMessage());
-            throw new BookNotFoundException("Error fetching all books: " + e.getMessage());
+    @Transactional(readOnly = true)
+    public void exportActiveBooks(OutputStream outputStream, ExportFormat format) throws IOException {
+        long count = 0;
+        try (Stream<Book> books = bookRepository.streamAllByActiveIsTrue();
+             BookExportWriter writer = BookExportWriter.open(outputStream, format, objectMapper)) {
+            for (Book book : (Iterable<Book>) books::iterator) {
+                writer.write(BookMapper.INSTANCE.toDto(book));
+                // Keep the persistence context empty, otherwise every streamed entity stays referenced
+                entityManager.detach(book);
+                count++;
+            }
         }
+        log.info("Exported {} active books as {}", count, format);
     }
 
     @Override
@@ -115,10 +144,127 @@ public class BookServiceImpl implements BookService {
     public Page<BookResponse> searchBooks(BookSearchRequest bookSearchRequest, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
 
-        Specification<Book> specification = new GenericSpecification<BookSearchRequest, Book>()
-                .build(bookSearchRequest);
+        if (bookSearchIndex.isReady() && bookSearchIndex.supports(bookSearchRequest)) {
+            return searchFromIndex(bookSearchRequest, pageable);
+        }
+
+        Specification<Book> specification = activeBooks(bookSearchRequest);
 
         return bookRepository.findAll(specification, pageable)
                 .map(BookMapper.INSTANCE::toDto);
     }
+
+    @Override
+    public CursorPageResponse<BookResponse> scrollBooks(BookSearchRequest bookSearchRequest, BookSortKey sortKey,
+                                                        String after, int size, boolean withTotal) {
+        int limit = CursorUtils.pageSize(size);
+        if (sortKey == BookSortKey.ID && bookSearchIndex.isReady() && bookSearchIndex.supports(bookSearchRequest)) {
+            return scrollFromIndex(bookSearchRequest, after, limit, withTotal);
+        }
+
+        Specification<Book> specification = activeBooks(bookSearchRequest);
+        Sort sort = sortKey == BookSortKey.ID
+                ? Sort.by(BookSortKey.ID.getProperty())
+                : Sort.by(sortKey.getProperty(), BookSortKey.ID.getProperty());
+        ScrollPosition position = after == null ? ScrollPosition.keyset() : decodeScrollPosition(after, sortKey);
+
+        Window<Book> window = bookRepository.findBy(specification,
+                query -> query.sortBy(sort).limit(limit).scroll(position));
+
+        List<BookResponse> content = window.getContent().stream()
+                .map(BookMapper.INSTANCE::toDto)
+                .toList();
+        String next = window.hasNext() && !window.isEmpty()
+                ? encodeCursor(sortKey, window.getContent().get(window.size() - 1))
+                : null;
+        Long total = withTotal ? bookRepository.count(specification) : null;
+
+        return new CursorPageResponse<>(content, next, window.hasNext(), total);
+    }
+
+    private Page<BookResponse> searchFromIndex(BookSearchRequest bookSearchRequest, Pageable pageable) {
+        List<Long> pageIds = bookSearchIndex.search(bookSearchRequest, 0L)
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .toList();
+        return PageableExecutionUtils.getPage(findAllInOrder(pageIds), pageable,
+                () -> bookSearchIndex.search(bookSearchRequest, 0L).count());
+    }
+
+    private CursorPageResponse<BookResponse> scrollFromIndex(BookSearchRequest bookSearchRequest, String after,
+                                                             int size, boolean withTotal) {
+        long afterId = after == null ? 0L : decodeAfterId(after, BookSortKey.ID);
+        // One id past the page tells whether there is a next page
+        List<Long> ids = bookSearchIndex.search(bookSearchRequest, afterId).limit(size + 1L).toList();
+        boolean hasNext = ids.size() > size;
+        List<Long> pageIds = hasNext ? ids.subList(0, size) : ids;
+
+        String next = hasNext && !pageIds.isEmpty()
+                ? CursorUtils.encode(BookSortKey.ID.name(), String.valueOf(pageIds.get(pageIds.size() - 1)), "")
+                : null;
+        Long total = withTotal ? bookSearchIndex.search(bookSearchRequest, 0L).count() : null;
+
+        return new CursorPageResponse<>(findAllInOrder(pageIds), next, hasNext, total);
+    }
+
+    // Same books as the search index, which only holds active ones
+    private Specification<Book> activeBooks(BookSearchRequest bookSearchRequest) {
+        Specification<Book> active = (root, query, builder) -> builder.isTrue(root.get("active"));
+        return active.and(new GenericSpecification<BookSearchRequest, Book>().build(bookSearchRequest));
+    }
+
+    private List<BookResponse> findAllInOrder(List<Long> ids) {
+        Map<Long, Book> booksById = bookRepository.findAllById(ids)
+                .stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        return ids.stream()
+                .map(booksById::get)
+                .filter(Objects::nonNull)
+                .map(BookMapper.INSTANCE::toDto)
+                .toList();
+    }
+
+    // Cursor layout: sort key, id of the last row, value of the sort key of the last row
+    private String encodeCursor(BookSortKey sortKey, Book last) {
+        String sortValue = switch (sortKey) {
+            case ID -> "";
+            case TITLE -> last.getTitle();
+            case AUTHOR -> last.getAuthor();
+        };
+        return CursorUtils.encode(sortKey.name(), String.valueOf(last.getId()), sortValue);
+    }
+
+    private ScrollPosition decodeScrollPosition(String after, BookSortKey sortKey) {
+        String[] parts = CursorUtils.decode(after, 3);
+        Long lastId = decodeAfterId(after, sortKey);
+        if (sortKey == BookSortKey.ID) {
+            return ScrollPosition.forward(Map.of(BookSortKey.ID.getProperty(), lastId));
+        }
+        return ScrollPosition.forward(Map.of(sortKey.getProperty(), parts[2], BookSortKey.ID.getProperty(), lastId));
+    }
+
+    private Long decodeAfterId(String after, BookSortKey sortKey) {
+        String[] parts = CursorUtils.decode(after, 3);
+        if (!sortKey.name().equals(parts[0])) {
+            throw new IllegalArgumentException("Cursor was created for a different sort: " + parts[0]);
+        }
+        try {
+            return Long.valueOf(parts[1]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + after, e);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
 }
@@ -4,33 +4,43 @@ import com.edurmus.librarymanagement.exception.book.BookAlreadyReturnedException
 import com.edurmus.librarymanagement.exception.book.BookNotAvailableException;
 import com.edurmus.librarymanagement.exception.book.BookNotFoundException;
 import com.edurmus.librarymanagement.exception.borrow.BorrowingNotFoundException;
+import com.edurmus.librarymanagement.model.dto.request.BorrowingHistoryRequest;
 import com.edurmus.librarymanagement.model.dto.response.BorrowingDTO;
 import com.edurmus.librarymanagement.model.dto.response.BorrowingSuccessResponse;
+import com.edurmus.librarymanagement.model.dto.response.CursorPageResponse;
 import com.edurmus.librarymanagement.model.dto.response.ReturnBookResponse;
 import com.edurmus.librarymanagement.model.entity.Book;
 import com.edurmus.librarymanagement.model.entity.Borrowing;
 import com.edurmus.librarymanagement.model.entity.User;
 import com.edurmus.librarymanagement.model.enums.BorrowingStatus;
+import com.edurmus.librarymanagement.model.event.UserChangedEvent;
 import com.edurmus.librarymanagement.model.mapper.BorrowingMapper;
+import com.edurmus.librarymanagement.model.projection.UserOverdueSummary;
 import com.edurmus.librarymanagement.repository.BookRepository;
 import com.edurmus.librarymanagement.repository.BorrowingRepository;
 import com.edurmus.librarymanagement.repository.UserRepository;
 import com.edurmus.librarymanagement.service.BorrowingService;
-import com.edurmus.librarymanagement.util.FineCalculator;
+import com.edurmus.librarymanagement.util.CursorUtils;
 import com.edurmus.librarymanagement.util.SecurityUtils;
 import com.edurmus.librarymanagement.util.StringUtils;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
@@ -39,13 +49,18 @@ public class BorrowingServiceImpl implements BorrowingService {
     private final BookRepository bookRepository;
     private final BorrowingRepository borrowingRepository;
     private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public BorrowingServiceImpl(BookRepository bookRepository, BorrowingRepository borrowingRepository,
-                                UserRepository userRepository) {
+                                UserRepository userRepository, ObjectMapper objectMapper,
+                                ApplicationEventPublisher eventPublisher) {
         this.bookRepository = bookRepository;
         this.borrowingRepository = borrowingRepository;
         this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -53,10 +68,7 @@ public class BorrowingServiceImpl implements BorrowingService {
     public BorrowingSuccessResponse borrowBook(Long bookId) {
         User user = getCurrentUser();
         log.info("User '{}' attempting to borrow book {}",  user.getUsername(), bookId);
-        Book book = getAvailableBookOrThrow(bookId);
-
-        book.setAvailable(false);
-        bookRepository.save(book);
+        Book book = claimAvailableBookOrThrow(bookId, user);
 
         Borrowing borrowing = createBorrowing(user, book);
         Borrowing savedBorrowing = borrowingRepository.save(borrowing);
@@ -64,14 +76,16 @@ public class BorrowingServiceImpl implements BorrowingService {
         return BorrowingMapper.INSTANCE.toSuccessResponse(savedBorrowing);
     }
 
-    private Book getAvailableBookOrThrow(Long bookId) {
-        Book book = bookRepository.findById(bookId)
-                .orElseThrow(() -> new BookNotFoundException("Book not found with id: " + bookId));
-
-        if (!book.isAvailable()) {
+    private Book claimAvailableBookOrThrow(Long bookId, User user) {
+        int claimed = bookRepository.markAsBorrowed(bookId, LocalDateTime.now(), user.getUsername());
+        if (claimed == 0) {
+            if (!bookRepository.existsById(bookId)) {
+                throw new BookNotFoundException("Book not found with id: " + bookId);
+            }
             throw new BookNotAvailableException("The book is not available for borrowing");
         }
-        return book;
+        return bookRepository.findById(bookId)
+                .orElseThrow(() -> new BookNotFoundException("Book not found with id: " + bookId));
     }
 
 
@@ -141,11 +155,12 @@ public class BorrowingServiceImpl implements BorrowingService {
         User user = borrowing.getUser();
         BigDecimal fine = borrowing.calculateOverdueFine();
         user.setOverdueFine(user.getOverdueFine().add(fine));
+        user.setOverdueCount(user.getOverdueCount() + 1);
         log.warn("User '{}' has overdue book. Fine applied: {}", user.getUsername(), fine);
 
-        long overdueCount = borrowingRepository.countByUserIdAndReturnDateAfterDueDate(user.getId());
-        if (overdueCount >= 2) {
+        if (user.getOverdueCount() >= 2) {
             user.setEnabled(false);
+            eventPublisher.publishEvent(new UserChangedEvent(user.getUsername()));
         }
 
         userRepository.save(user);
@@ -161,51 +176,117 @@ public class BorrowingServiceImpl implements BorrowingService {
     }
 
     @Override
-    public List<BorrowingDTO> getUserBorrowingHistory() {
-        List<Borrowing> borrowings = borrowingRepository.findByUser(getCurrentUser());
-        return borrowings.stream().map(BorrowingMapper.INSTANCE::toDto).collect(Collectors.toList());
+    public Page<BorrowingDTO> getUserBorrowingHistory(BorrowingHistoryRequest historyRequest, int page, int size) {
+        return findHistory(SecurityUtils.getCurrentUserName(), historyRequest, page, size);
     }
 
     @Override
-    public List<BorrowingDTO> getAllBorrowingHistory() {
-        List<Borrowing> borrowings = borrowingRepository.findAll();
-        return borrowings.stream().map(BorrowingMapper.INSTANCE::toDto).collect(Collectors.toList());
+    public CursorPageResponse<BorrowingDTO> scrollUserBorrowingHistory(BorrowingHistoryRequest historyRequest,
+                                                                       String after, int size) {
+        return scrollHistory(SecurityUtils.getCurrentUserName(), historyRequest, after, size);
     }
 
     @Override
-    public String generateOverdueReport() {
-        log.info("Generating overdue book report...");
-        List<Borrowing> overdueList = findOverdueBorrowings();
-        int totalOverdue = overdueList.size();
-        Map<User, List<Borrowing>> userOverdueMap = groupBorrowingsByUser(overdueList);
+    @Transactional(readOnly = true)
+    public void exportUserBorrowingHistory(BorrowingHistoryRequest historyRequest, OutputStream outputStream)
+            throws IOException {
+        exportHistory(SecurityUtils.getCurrentUserName(), historyRequest, outputStream);
+    }
 
-        StringBuilder reportBuilder = new StringBuilder();
-        reportBuilder.append(StringUtils.buildReportHeader(totalOverdue, userOverdueMap.size()));
-        appendUserOverdueDetails(userOverdueMap, reportBuilder);
-        reportBuilder.append(StringUtils.buildReportFooter(LocalDateTime.now()));
+    @Override
+    public Page<BorrowingDTO> getAllBorrowingHistory(BorrowingHistoryRequest historyRequest, int page, int size) {
+        return findHistory(null, historyRequest, page, size);
+    }
 
-        return reportBuilder.toString();
+    @Override
+    public CursorPageResponse<BorrowingDTO> scrollAllBorrowingHistory(BorrowingHistoryRequest historyRequest,
+                                                                      String after, int size) {
+        return scrollHistory(null, historyRequest, after, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAllBorrowingHistory(BorrowingHistoryRequest historyRequest, OutputStream outputStream)
+            throws IOException {
+        exportHistory(null, historyRequest, outputStream);
+    }
+
+    private Page<BorrowingDTO> findHistory(String username, BorrowingHistoryRequest historyRequest, int page, int size) {
+        validateDateRange(historyRequest);
+        return borrowingRepository.findHistory(username, historyRequest.from(), historyRequest.to(),
+                PageRequest.of(page, CursorUtils.pageSize(size)));
     }
 
-    private void appendUserOverdueDetails(Map<User, List<Borrowing>> userOverdueMap, StringBuilder reportBuilder) {
-        for (Map.Entry<User, List<Borrowing>> entry : userOverdueMap.entrySet()) {
-            User user = entry.getKey();
-            List<Borrowing> borrowings = entry.getValue();
-            int count = borrowings.size();
-            BigDecimal totalFine = FineCalculator.calculateTotalFine(borrowings);
+    private CursorPageResponse<BorrowingDTO> scrollHistory(String username, BorrowingHistoryRequest historyRequest,
+                                                           String after, int size) {
+        validateDateRange(historyRequest);
+        int limit = CursorUtils.pageSize(size);
+        long afterId = after == null ? 0L : decodeAfterId(after);
+
+        // One extra row tells whether there is a next page without a count query
+        List<BorrowingDTO> rows = borrowingRepository.findHistoryAfter(username, historyRequest.from(),
+                historyRequest.to(), afterId, PageRequest.of(0, limit + 1));
+        boolean hasNext = rows.size() > limit;
+        List<BorrowingDTO> content = hasNext ? rows.subList(0, limit) : rows;
+        String next = hasNext ? CursorUtils.encode(String.valueOf(content.get(content.size() - 1).getId())) : null;
 
-            reportBuilder.append(StringUtils.formatUserOverdueLine(user, count, totalFine));
+        return new CursorPageResponse<>(content, next, hasNext, null);
+    }
+
+    private void exportHistory(String username, BorrowingHistoryRequest historyRequest, OutputStream outputStream)
+            throws IOException {
+        validateDateRange(historyRequest);
+        long count = 0;
+        try (Stream<BorrowingDTO> borrowings = borrowingRepository.streamHistory(username,
+                historyRequest.from(), historyRequest.to());
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)
+                     .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            for (BorrowingDTO borrowing : (Iterable<BorrowingDTO>) borrowings::iterator) {
+                generator.writeObject(borrowing);
+                generator.writeRaw('\n');
+                count++;
+            }
         }
+        log.info("Exported {} borrowings as NDJSON", count);
     }
 
-    private Map<User, List<Borrowing>> groupBorrowingsByUser(List<Borrowing> overdueList) {
-        return overdueList.stream()
-                .collect(Collectors.groupingBy(Borrowing::getUser));
+    private void validateDateRange(BorrowingHistoryRequest historyRequest) {
+        if (historyRequest.from() != null && historyRequest.to() != null
+                && !historyRequest.from().isBefore(historyRequest.to())) {
+            throw new IllegalArgumentException("History date range is empty: " + historyRequest.from()
+                    + " - " + historyRequest.to());
+        }
     }
 
+    private long decodeAfterId(String after) {
+        try {
+            return Long.parseLong(CursorUtils.decode(after, 1)[0]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + after, e);
+        }
+    }
+
+    @Override
+    public String generateOverdueReport() {
+        log.info("Generating overdue book report...");
+        List<UserOverdueSummary> overdueSummaries = borrowingRepository.findOverdueSummaries();
+        long totalOverdue = overdueSummaries.stream()
+                .mapToLong(UserOverdueSummary::getOverdueCount)
+                .sum();
+
+        StringBuilder reportBuilder = new StringBuilder();
+        reportBuilder.append(StringUtils.buildReportHeader((int) totalOverdue, overdueSummaries.size()));
+        appendUserOverdueDetails(overdueSummaries, reportBuilder);
+        reportBuilder.append(StringUtils.buildReportFooter(LocalDateTime.now()));
 
-    private List<Borrowing> findOverdueBorrowings() {
-        return borrowingRepository.findByReturnDateAfterAndDueDate();
+        return reportBuilder.toString();
+    }
+
+    private void appendUserOverdueDetails(List<UserOverdueSummary> overdueSummaries, StringBuilder reportBuilder) {
+        for (UserOverdueSummary summary : overdueSummaries) {
+            reportBuilder.append(StringUtils.formatUserOverdueLine(summary.getFirstName(), summary.getLastName(),
+                    summary.getEmail(), summary.getOverdueCount(), summary.getTotalFine()));
+        }
     }
 
     public User getCurrentUser() {
@@ -0,0 +1,148 @@
+package com.edurmus.librarymanagement.service.impl;
+
+import com.edurmus.librarymanagement.config.ReactiveBookProperties;
+import com.edurmus.librarymanagement.exception.book.BookNotFoundException;
+import com.edurmus.librarymanagement.exception.book.BookSaveException;
+import com.edurmus.librarymanagement.model.dto.request.BookRequest;
+import com.edurmus.librarymanagement.model.dto.response.BookResponse;
+import com.edurmus.librarymanagement.model.entity.ReactiveBook;
+import com.edurmus.librarymanagement.model.mapper.BookMapper;
+import com.edurmus.librarymanagement.repository.ReactiveBookRepository;
+import com.edurmus.librarymanagement.service.ReactiveBookService;
+import com.edurmus.librarymanagement.service.index.BookSearchIndex;
+import com.edurmus.librarymanagement.util.SecurityUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.BiFunction;
+
+@Service
+@Profile("r2dbc")
+@RequiredArgsConstructor
+@Slf4j
+public class R2dbcReactiveBookServiceImpl implements ReactiveBookService {
+
+    private final ReactiveBookRepository reactiveBookRepository;
+    private final TransactionalOperator reactiveTransactionalOperator;
+    private final BookSearchIndex bookSearchIndex;
+    private final ReactiveBookProperties properties;
+
+    @Override
+    public Mono<BookResponse> save(BookRequest bookRequest) {
+        return Mono.defer(() -> {
+                    ReactiveBook book = BookMapper.INSTANCE.toReactiveEntity(bookRequest);
+                    book.setAvailable(true);
+                    book.updateAuditFields(SecurityUtils.getCurrentUserName());
+                    return reactiveBookRepository.save(book);
+                })
+                .doOnNext(this::index)
+                .map(BookMapper.INSTANCE::toDto)
+                .doOnSuccess(bookDto -> log.info("Book saved: {}", bookDto.title()))
+                .onErrorMap(e -> new BookSaveException("Failed to save the book: " + e.getMessage(), e));
+    }
+
+    @Override
+    public Mono<BookResponse> update(Long id, BookRequest bookRequest) {
+        return Mono.defer(() -> {
+                    // The security context is bound to the subscribing thread, not to the driver threads
+                    String username = SecurityUtils.getCurrentUserName();
+                    return reactiveBookRepository.findById(id)
+                            .switchIfEmpty(Mono.error(() -> new BookNotFoundException("Book not found for the update with id: " + id)))
+                            .flatMap(book -> {
+                                BookMapper.INSTANCE.updateEntity(book, bookRequest);
+                                book.updateAuditFields(username);
+                                return reactiveBookRepository.save(book);
+                            })
+                            .as(reactiveTransactionalOperator::transactional);
+                })
+                .doOnNext(this::index)
+                .map(BookMapper.INSTANCE::toDto)
+                .doOnSuccess(bookDto -> log.info("Book updated: {}", bookDto.title()))
+                .onErrorMap(e -> new BookSaveException("Failed to update the book: " + e.getMessage(), e));
+    }
+
+    @Override
+    public Mono<Void> deleteById(Long id) {
+        return Mono.defer(() -> {
+                    String username = SecurityUtils.getCurrentUserName();
+                    return reactiveBookRepository.findById(id)
+                            .switchIfEmpty(Mono.error(() -> new BookNotFoundException("Book not found for the delete with id: " + id)))
+                            .flatMap(book -> {
+                                book.setActive(false);
+                                book.updateAuditFields(username);
+                                return reactiveBookRepository.save(book);
+                            })
+                            .as(reactiveTransactionalOperator::transactional);
+                })
+                .doOnNext(book -> {
+                    bookSearchIndex.remove(book.getId());
+                    log.info("Book with ID {} set as inactive", book.getId());
+                })
+                .then()
+                .onErrorMap(e -> new BookSaveException("Failed to delete the book: " + e.getMessage(), e));
+    }
+
+    @Override
+    public Mono<BookResponse> getById(Long id) {
+        return reactiveBookRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new BookNotFoundException("Book not found by id")))
+                .map(BookMapper.INSTANCE::toDto)
+                .doOnSuccess(bookDto -> log.info("Book fetched successfully: {}", bookDto.title()))
+                .doOnError(error -> log.error("Error fetching book with id {}: {}", id, error.getMessage()))
+                .onErrorMap(e -> new BookNotFoundException("Book not found by id: " + id));
+    }
+
+    @Override
+    public Flux<BookResponse> getAll() {
+        return rateLimited(fetchInBatches(reactiveBookRepository::findByActiveIsTrueAndIdGreaterThanOrderByIdAsc)
+                .map(BookMapper.INSTANCE::toDto)
+                .onErrorMap(error -> {
+                    log.error("Error fetching all books: {}", error.getMessage());
+                    return new BookNotFoundException("Error fetching all books: " + error.getMessage());
+                }));
+    }
+
+    @Override
+    public Flux<BookResponse> findByIsAvailable() {
+        return rateLimited(fetchInBatches(reactiveBookRepository::findByIsAvailableIsTrueAndActiveIsTrueAndIdGreaterThanOrderByIdAsc)
+                .map(BookMapper.INSTANCE::toDto)
+                .onErrorMap(error -> new BookNotFoundException("Error fetching available books: " + error.getMessage())));
+    }
+
+    // Keyset batches instead of one long query, so a slow subscriber never holds a pooled connection
+    private Flux<ReactiveBook> fetchInBatches(BiFunction<Long, Pageable, Flux<ReactiveBook>> batchQuery) {
+        return batchesAfter(0L, PageRequest.of(0, properties.batchSize()), batchQuery);
+    }
+
+    private Flux<ReactiveBook> batchesAfter(Long lastId, Pageable batch,
+                                            BiFunction<Long, Pageable, Flux<ReactiveBook>> batchQuery) {
+        return batchQuery.apply(lastId, batch)
+                .collectList()
+                .flatMapMany(books -> {
+                    Flux<ReactiveBook> current = Flux.fromIterable(books);
+                    if (books.size() < batch.getPageSize()) {
+                        return current;
+                    }
+                    Long nextId = books.get(books.size() - 1).getId();
+                    return current.concatWith(Flux.defer(() -> batchesAfter(nextId, batch, batchQuery)));
+                });
+    }
+
+    private void index(ReactiveBook book) {
+        bookSearchIndex.index(BookMapper.INSTANCE.toEntity(book));
+    }
+
+    private Flux<BookResponse> rateLimited(Flux<BookResponse> books) {
+        if (properties.emitInterval().isZero()) {
+            return books;
+        }
+        return books.delayElements(properties.emitInterval());
+    }
+}
@@ -1,5 +1,6 @@
 package com.edurmus.librarymanagement.service.impl;
 
+import com.edurmus.librarymanagement.config.ReactiveBookProperties;
 import com.edurmus.librarymanagement.exception.book.BookNotFoundException;
 import com.edurmus.librarymanagement.exception.book.BookSaveException;
 import com.edurmus.librarymanagement.model.dto.request.BookRequest;
@@ -8,21 +9,31 @@ import com.edurmus.librarymanagement.model.entity.Book;
 import com.edurmus.librarymanagement.model.mapper.BookMapper;
 import com.edurmus.librarymanagement.repository.BookRepository;
 import com.edurmus.librarymanagement.service.ReactiveBookService;
+import com.edurmus.librarymanagement.service.index.BookSearchIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
+import reactor.core.scheduler.Scheduler;
 
-import java.time.Duration;
+import java.util.function.BiFunction;
 
+// Blocking JPA calls on a dedicated scheduler, the r2dbc profile replaces it with R2dbcReactiveBookServiceImpl
 @Service
+@Profile("!r2dbc")
 @RequiredArgsConstructor
 @Slf4j
 public class ReactiveBookServiceImpl implements ReactiveBookService {
 
     private final BookRepository bookRepository;
+    private final Scheduler bookFetchScheduler;
+    private final ReactiveBookProperties properties;
+    private final BookSearchIndex bookSearchIndex;
 
     @Override
     public Mono<BookResponse> save(BookRequest bookRequest) {
@@ -31,7 +42,8 @@ public class ReactiveBookServiceImpl implements ReactiveBookService {
                     book.setAvailable(true);
                     return bookRepository.save(book);
                 })
-                .subscribeOn(Schedulers.boundedElastic())
+                .subscribeOn(bookFetchScheduler)
+                .doOnNext(bookSearchIndex::index)
                 .map(BookMapper.INSTANCE::toDto)
                 .doOnSuccess(bookDto -> log.info("Book saved: {}", bookDto.title()))
                 .onErrorMap(e -> new BookSaveException("Failed to save the book: " + e.getMessage(), e));
@@ -45,7 +57,8 @@ public class ReactiveBookServiceImpl implements ReactiveBookService {
                     BookMapper.INSTANCE.updateEntity(book, bookRequest);
                     return bookRepository.save(book);
                 })
-                .subscribeOn(Schedulers.boundedElastic())
+                .subscribeOn(bookFetchScheduler)
+                .doOnNext(bookSearchIndex::index)
                 .map(BookMapper.INSTANCE::toDto)
                 .doOnSuccess(bookDto -> log.info("Book updated: {}", bookDto.title()))
                 .onErrorMap(e -> new BookSaveException("Failed to update the book: " + e.getMessage(), e));
@@ -55,11 +68,12 @@ public class ReactiveBookServiceImpl implements ReactiveBookService {
     public Mono<Void> deleteById(Long id) {
         return Mono.fromCallable(() -> bookRepository.findById(id)
                         .orElseThrow(() -> new BookNotFoundException("Book not found for the delete with id: " + id)))
-                .subscribeOn(Schedulers.boundedElastic())
+                .subscribeOn(bookFetchScheduler)
                 .flatMap(book -> {
                     book.setActive(false);
                     return Mono.fromCallable(() -> bookRepository.save(book))
-                            .subscribeOn(Schedulers.boundedElastic())
+                            .subscribeOn(bookFetchScheduler)
+                            .doOnNext(saved -> bookSearchIndex.remove(saved.getId()))
                             .doOnTerminate(() -> log.info("Book with ID {} set as inactive", book.getId()))
                             .then();
                 })
@@ -72,7 +86,7 @@ public class ReactiveBookServiceImpl implements ReactiveBookService {
     public Mono<BookResponse> getById(Long id) {
         return Mono.fromCallable(() -> bookRepository.findById(id)
                         .orElseThrow(() -> new BookNotFoundException("Book not found by id")))
-                .subscribeOn(Schedulers.boundedElastic())
+                .subscribeOn(bookFetchScheduler)
                 .map(BookMapper.INSTANCE::toDto)
                 .doOnSuccess(bookDto -> log.info("Book fetched successfully: {}", bookDto.title()))
                 .doOnError(error -> log.error("Error fetching book with id {}: {}", id, error.getMessage()))
@@ -82,19 +96,43 @@ public class ReactiveBookServiceImpl implements ReactiveBookService {
 
     @Override
     public Flux<BookResponse> getAll() {
-        return Flux.fromIterable(bookRepository.findAllByActiveIsTrue())
+        return rateLimited(fetchInBatches(bookRepository::findByActiveIsTrueAndIdGreaterThanOrderByIdAsc)
                 .map(BookMapper.INSTANCE::toDto)
                 .onErrorMap(error -> {
                     log.error("Error fetching all books: {}", error.getMessage());
                     return new BookNotFoundException("Error fetching all books: " + error.getMessage());
-                }).delayElements(Duration.ofSeconds(1));
+                }));
     }
 
     @Override
     public Flux<BookResponse> findByIsAvailable() {
-        return Flux.fromIterable(bookRepository.findAllByIsAvailableIsTrueAndActiveIsTrue())
+        return rateLimited(fetchInBatches(bookRepository::findByIsAvailableIsTrueAndActiveIsTrueAndIdGreaterThanOrderByIdAsc)
                 .map(BookMapper.INSTANCE::toDto)
-                .onErrorMap(error -> new BookNotFoundException("Error fetching available books: " + error.getMessage()))
-                .delayElements(Duration.ofSeconds(1));
+                .onErrorMap(error -> new BookNotFoundException("Error fetching available books: " + error.getMessage())));
+    }
+
+    // Reads the next keyset batch only when the subscriber has consumed the previous one
+    private Flux<Book> fetchInBatches(BiFunction<Long, Pageable, Slice<Book>> batchQuery) {
+        Pageable batch = PageRequest.of(0, properties.batchSize());
+        return Flux.<Slice<Book>, Long>generate(() -> 0L, (lastId, sink) -> {
+                    Slice<Book> books = batchQuery.apply(lastId, batch);
+                    if (books.hasContent()) {
+                        sink.next(books);
+                    }
+                    if (!books.hasNext()) {
+                        sink.complete();
+                        return lastId;
+                    }
+                    return books.getContent().get(books.getNumberOfElements() - 1).getId();
+                })
+                .subscribeOn(bookFetchScheduler)
+                .flatMapIterable(Slice::getContent, 1);
+    }
+
+    private Flux<BookResponse> rateLimited(Flux<BookResponse> books) {
+        if (properties.emitInterval().isZero()) {
+            return books;
+        }
+        return books.delayElements(properties.emitInterval());
     }
 }
@@ -10,12 +10,14 @@ import com.edurmus.librarymanagement.model.dto.response.UserResponse;
 import com.edurmus.librarymanagement.model.dto.response.UserRoleResponse;
 import com.edurmus.librarymanagement.model.entity.User;
 import com.edurmus.librarymanagement.model.enums.UserRole;
+import com.edurmus.librarymanagement.model.event.UserChangedEvent;
 import com.edurmus.librarymanagement.model.mapper.UserMapper;
 import com.edurmus.librarymanagement.repository.RoleRepository;
 import com.edurmus.librarymanagement.repository.UserRepository;
 import com.edurmus.librarymanagement.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -31,6 +33,7 @@ public class UserServiceImpl implements UserService {
     private final PasswordEncoder passwordEncoder;
     private final UserMapper userMapper;
     private final RoleRepository roleRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -62,8 +65,11 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException("User not found"));
 
+        String previousUsername = user.getUsername();
         updateUserFields(user, request);
-        return userMapper.toDetailsDto(userRepository.save(user));
+        User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(previousUsername));
+        return userMapper.toDetailsDto(savedUser);
     }
 
 
@@ -76,7 +82,9 @@ public class UserServiceImpl implements UserService {
         UserRole newRole = UserRole.valueOf(userRoleRequest.role().toUpperCase());
 
         user.setRoles(roleRepository.findByUserRole(newRole));
-        return userMapper.toRoleDto(userRepository.save(user));
+        User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(savedUser.getUsername()));
+        return userMapper.toRoleDto(savedUser);
     }
 
 
@@ -89,6 +97,7 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.getReferenceById(id);
         user.setActive(false);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getUsername()));
         log.info("User with ID {} set as inactive", id);
     }
 
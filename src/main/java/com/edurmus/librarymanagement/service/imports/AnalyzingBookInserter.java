@@ -0,0 +1,45 @@
+package com.edurmus.librarymanagement.service.imports;
+
+import com.edurmus.librarymanagement.model.entity.Book;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs ANALYZE on PostgreSQL whenever imports have grown the book table by half since the last run.
+ * Connections cache generic plans, and a plan made while the table was nearly empty keeps scanning it
+ * sequentially after a catalog has been imported. ANALYZE refreshes the statistics and invalidates those plans.
+ */
+public class AnalyzingBookInserter implements BookBatchInserter {
+
+    private static final long MIN_ROWS_BETWEEN_ANALYZE = 10_000;
+
+    private final BookBatchInserter delegate;
+    private final JdbcTemplate jdbcTemplate;
+    private final AtomicLong insertedSinceAnalyze = new AtomicLong();
+    private volatile long analyzeThreshold = MIN_ROWS_BETWEEN_ANALYZE;
+
+    public AnalyzingBookInserter(BookBatchInserter delegate, JdbcTemplate jdbcTemplate) {
+        this.delegate = delegate;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insert(List<Book> books, String username) {
+        delegate.insert(books, username);
+        if (insertedSinceAnalyze.addAndGet(books.size()) >= analyzeThreshold) {
+            analyze();
+        }
+    }
+
+    private synchronized void analyze() {
+        if (insertedSinceAnalyze.get() < analyzeThreshold) {
+            return;
+        }
+        insertedSinceAnalyze.set(0);
+        jdbcTemplate.execute("ANALYZE book");
+        Long rows = jdbcTemplate.queryForObject("SELECT reltuples::bigint FROM pg_class WHERE relname = 'book'", Long.class);
+        analyzeThreshold = Math.max(MIN_ROWS_BETWEEN_ANALYZE, rows == null ? 0 : rows / 2);
+    }
+}
@@ -0,0 +1,15 @@
+package com.edurmus.librarymanagement.service.imports;
+
+import com.edurmus.librarymanagement.model.entity.Book;
+
+import java.util.List;
+
+/**
+ * Writes new books without going through the persistence context.
+ * Implementations join the surrounding transaction and write the whole batch or fail.
+ * The books arrive with their ids already allocated from book_seq.
+ */
+public interface BookBatchInserter {
+
+    void insert(List<Book> books, String username);
+}
@@ -0,0 +1,205 @@
+package com.edurmus.librarymanagement.service.imports;
+
+import com.edurmus.librarymanagement.exception.book.BookImportException;
+import com.edurmus.librarymanagement.model.dto.request.BookRequest;
+import com.edurmus.librarymanagement.model.enums.ImportFormat;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * Reads books from an upload one row at a time, so an import never holds more than one row in memory.
+ * Malformed rows are returned with an error instead of failing the whole import.
+ * CSV files need a header naming the columns, which makes CSV exports importable as they are.
+ */
+public abstract class BookImportReader implements Closeable {
+
+    public record Row(long line, BookRequest book, String error) {
+
+        static Row invalid(long line, String error) {
+            return new Row(line, null, error);
+        }
+    }
+
+    public static BookImportReader open(InputStream inputStream, ImportFormat format, ObjectMapper objectMapper)
+            throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        return switch (format) {
+            case NDJSON -> new NdjsonReader(reader, objectMapper);
+            case CSV -> new CsvReader(reader);
+        };
+    }
+
+    /**
+     * Returns the next row, or null once the input is exhausted.
+     */
+    public abstract Row next() throws IOException;
+
+    private static class NdjsonReader extends BookImportReader {
+
+        private final BufferedReader reader;
+        private final ObjectReader bookReader;
+        private long line;
+
+        NdjsonReader(BufferedReader reader, ObjectMapper objectMapper) {
+            this.reader = reader;
+            this.bookReader = objectMapper.readerFor(BookRequest.class);
+        }
+
+        @Override
+        public Row next() throws IOException {
+            String text;
+            while ((text = reader.readLine()) != null) {
+                line++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                try {
+                    return new Row(line, bookReader.readValue(text), null);
+                } catch (JsonProcessingException e) {
+                    return Row.invalid(line, "Malformed JSON: " + e.getOriginalMessage());
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    private static class CsvReader extends BookImportReader {
+
+        private static final List<String> REQUIRED_COLUMNS =
+                List.of("title", "author", "isbn", "publishedDate", "price", "genre");
+
+        private final Reader reader;
+        private final char[] buffer = new char[8192];
+        private int position;
+        private int limit;
+        private final Map<String, Integer> columns = new HashMap<>();
+        private long line = 1;
+
+        CsvReader(Reader reader) throws IOException {
+            this.reader = reader;
+            List<String> header = readRecord();
+            if (header == null) {
+                throw new BookImportException("The CSV input is empty");
+            }
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(header.get(i).trim(), i);
+            }
+            List<String> missing = REQUIRED_COLUMNS.stream().filter(column -> !columns.containsKey(column)).toList();
+            if (!missing.isEmpty()) {
+                throw new BookImportException("The CSV header is missing the columns " + missing);
+            }
+        }
+
+        @Override
+        public Row next() throws IOException {
+            while (true) {
+                long startLine = line;
+                List<String> fields = readRecord();
+                if (fields == null) {
+                    return null;
+                }
+                if (fields.size() == 1 && fields.get(0).isBlank()) {
+                    continue;
+                }
+                try {
+                    return new Row(startLine, toRequest(fields), null);
+                } catch (DateTimeParseException | NumberFormatException e) {
+                    return Row.invalid(startLine, "Invalid value: " + e.getMessage());
+                }
+            }
+        }
+
+        private BookRequest toRequest(List<String> fields) {
+            String publishedDate = value(fields, "publishedDate");
+            String price = value(fields, "price");
+            return new BookRequest(
+                    value(fields, "title"),
+                    value(fields, "author"),
+                    value(fields, "isbn"),
+                    publishedDate == null ? null : LocalDate.parse(publishedDate),
+                    price == null ? 0 : Double.parseDouble(price),
+                    value(fields, "genre"),
+                    value(fields, "description"));
+        }
+
+        private String value(List<String> fields, String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= fields.size() || fields.get(index).isEmpty()) {
+                return null;
+            }
+            return fields.get(index);
+        }
+
+        // Reader.read() takes a lock per call, the parser reads its own buffer instead
+        private int read() throws IOException {
+            if (position == limit) {
+                limit = reader.read(buffer);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    return -1;
+                }
+            }
+            return buffer[position++];
+        }
+
+        // RFC 4180 record, quoted fields may contain separators, escaped quotes and line breaks
+        private List<String> readRecord() throws IOException {
+            int c = read();
+            if (c == -1) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (c == -1) {
+                    fields.add(field.toString());
+                    return fields;
+                }
+                if (quoted) {
+                    if (c == '"') {
+                        int next = read();
+                        if (next != '"') {
+                            quoted = false;
+                            c = next;
+                            continue;
+                        }
+                    } else if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    line++;
+                    fields.add(field.toString());
+                    return fields;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+}
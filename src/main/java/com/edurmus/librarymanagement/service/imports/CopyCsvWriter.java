@@ -0,0 +1,58 @@
+package com.edurmus.librarymanagement.service.imports;
+
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Buffers rows in the csv format of COPY ... FROM STDIN and streams them to PostgreSQL. Unquoted empty values are NULL
+ * in that format and quoted ones are strings, so null is written as nothing and every string is quoted.
+ */
+public class CopyCsvWriter {
+
+    private final StringBuilder csv;
+
+    public CopyCsvWriter(int expectedRows) {
+        this.csv = new StringBuilder(expectedRows * 160);
+    }
+
+    public static String copySql(String table, List<String> columns) {
+        return "COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN WITH (FORMAT csv)";
+    }
+
+    public void row(Object... values) {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                csv.append(',');
+            }
+            Object value = values[i];
+            if (value instanceof String text) {
+                csv.append('"').append(text.replace("\"", "\"\"")).append('"');
+            } else if (value instanceof BigDecimal decimal) {
+                csv.append(decimal.toPlainString());
+            } else if (value instanceof Enum<?> constant) {
+                csv.append(constant.name());
+            } else if (value != null) {
+                csv.append(value);
+            }
+        }
+        csv.append('\n');
+    }
+
+    // Returns the number of rows written
+    public long copyIn(JdbcTemplate jdbcTemplate, String copySql) {
+        return jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(copySql, new StringReader(csv.toString()));
+            } catch (IOException e) {
+                throw new SQLException("COPY failed: " + copySql, e);
+            }
+        });
+    }
+}
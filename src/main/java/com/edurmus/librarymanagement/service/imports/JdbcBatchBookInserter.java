@@ -0,0 +1,45 @@
+package com.edurmus.librarymanagement.service.imports;
+
+import com.edurmus.librarymanagement.model.entity.Book;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One JDBC statement batch per call.
+ * On PostgreSQL, reWriteBatchedInserts=true turns the batch into multi-row inserts.
+ */
+public class JdbcBatchBookInserter implements BookBatchInserter {
+
+    private static final String INSERT_SQL = "INSERT INTO book (id, title, author, isbn, published_date, price, description, "
+            + "genre, is_available, active, created_at, created_by, updated_at, updated_by) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, TRUE, TRUE, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcBatchBookInserter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insert(List<Book> books, String username) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, books, books.size(), (statement, book) -> {
+            statement.setLong(1, book.getId());
+            statement.setString(2, book.getTitle());
+            statement.setString(3, book.getAuthor());
+            statement.setString(4, book.getIsbn());
+            statement.setObject(5, book.getPublishedDate(), Types.DATE);
+            statement.setBigDecimal(6, book.getPrice());
+            statement.setString(7, book.getDescription());
+            statement.setString(8, book.getGenre() == null ? null : book.getGenre().name());
+            statement.setTimestamp(9, now);
+            statement.setString(10, username);
+            statement.setTimestamp(11, now);
+            statement.setString(12, username);
+        });
+    }
+}
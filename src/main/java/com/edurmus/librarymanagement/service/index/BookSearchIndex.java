@@ -0,0 +1,416 @@
+package com.edurmus.librarymanagement.service.index;
+
+import com.edurmus.librarymanagement.model.dto.request.BookSearchRequest;
+import com.edurmus.librarymanagement.model.entity.Book;
+import com.edurmus.librarymanagement.model.enums.BookGenre;
+import com.edurmus.librarymanagement.repository.BookRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * In-memory trigram index of active books used by the book search.
+ * Title and author match like the database search, as case-insensitive substrings, ISBN and genre match exactly.
+ * Candidates come from the smallest posting of the request and are checked against the indexed text, so results
+ * are produced lazily in ascending id order.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookSearchIndex {
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final int GRAM_LENGTH = 3;
+
+    // A gram is keyed by its field in the top bits and its characters 20 bits apart, which keeps the Long hash codes
+    // of ASCII grams distinct
+    private static final long TITLE = 1L << 60;
+    private static final long AUTHOR = 2L << 60;
+
+    private final BookRepository bookRepository;
+
+    private final Map<Long, Posting> gramPostings = new ConcurrentHashMap<>();
+    private final Map<String, Posting> isbnPostings = new ConcurrentHashMap<>();
+    private final Map<BookGenre, Posting> genrePostings = new ConcurrentHashMap<>();
+    private final Map<Long, IndexedBook> documents = new ConcurrentHashMap<>();
+
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        ready = false;
+        synchronized (this) {
+            gramPostings.clear();
+            isbnPostings.clear();
+            genrePostings.clear();
+            documents.clear();
+        }
+
+        long lastId = 0L;
+        Slice<Book> batch;
+        do {
+            batch = bookRepository.findByActiveIsTrueAndIdGreaterThanOrderByIdAsc(lastId,
+                    PageRequest.of(0, REBUILD_BATCH_SIZE));
+            for (Book book : batch) {
+                index(book);
+                lastId = book.getId();
+            }
+        } while (batch.hasNext());
+
+        ready = true;
+        log.info("Book search index built with {} books in {} ms", documents.size(), System.currentTimeMillis() - start);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public synchronized void index(Book book) {
+        if (book.getId() == null) {
+            return;
+        }
+        if (!book.isActive()) {
+            remove(book.getId());
+            return;
+        }
+
+        IndexedBook document = new IndexedBook(normalize(book.getTitle()), normalize(book.getAuthor()),
+                book.getIsbn(), book.getGenre());
+        long id = book.getId();
+        IndexedBook previous = documents.get(id);
+        if (previous == null) {
+            previous = new IndexedBook(null, null, null, null);
+        }
+
+        // Both gram arrays are sorted, so an edit only touches the postings of the grams it changed
+        long[] previousGrams = previous.grams();
+        long[] grams = document.grams();
+        int i = 0;
+        int j = 0;
+        while (i < previousGrams.length || j < grams.length) {
+            if (j == grams.length || (i < previousGrams.length && previousGrams[i] < grams[j])) {
+                remove(gramPostings, previousGrams[i++], id);
+            } else if (i == previousGrams.length || grams[j] < previousGrams[i]) {
+                add(gramPostings, grams[j++], id);
+            } else {
+                i++;
+                j++;
+            }
+        }
+        replace(isbnPostings, previous.isbn(), document.isbn(), id);
+        replace(genrePostings, previous.genre(), document.genre(), id);
+        documents.put(id, document);
+    }
+
+    public synchronized void remove(Long bookId) {
+        IndexedBook document = documents.remove(bookId);
+        if (document == null) {
+            return;
+        }
+        for (long gram : document.grams()) {
+            remove(gramPostings, gram, bookId);
+        }
+        if (document.isbn() != null) {
+            remove(isbnPostings, document.isbn(), bookId);
+        }
+        if (document.genre() != null) {
+            remove(genrePostings, document.genre(), bookId);
+        }
+    }
+
+    private static <K> void add(Map<K, Posting> postings, K key, long id) {
+        postings.computeIfAbsent(key, k -> new Posting()).add(id);
+    }
+
+    private static <K> void remove(Map<K, Posting> postings, K key, long id) {
+        postings.computeIfPresent(key, (k, posting) -> posting.remove(id) ? null : posting);
+    }
+
+    private static <K> void replace(Map<K, Posting> postings, K previous, K current, long id) {
+        if (Objects.equals(previous, current)) {
+            return;
+        }
+        if (previous != null) {
+            remove(postings, previous, id);
+        }
+        if (current != null) {
+            add(postings, current, id);
+        }
+    }
+
+    /**
+     * Whether at least one criterion of the request has postings to start from. Title and author need
+     * {@value #GRAM_LENGTH} characters for that, and LIKE wildcards are left to the database.
+     */
+    public boolean supports(BookSearchRequest request) {
+        if (hasWildcard(request.title()) || hasWildcard(request.author())) {
+            return false;
+        }
+        return StringUtils.hasText(request.isbn()) || request.genre() != null
+                || hasGrams(request.title()) || hasGrams(request.author());
+    }
+
+    /**
+     * Streams the ids greater than {@code afterId} of the active books matching every criterion of the request,
+     * in ascending id order. The stream is lazy, so limiting it stops the search once enough books are found.
+     */
+    public Stream<Long> search(BookSearchRequest request, long afterId) {
+        Posting smallest = smallestPosting(request);
+        if (smallest == null) {
+            return Stream.empty();
+        }
+        SearchCriteria criteria = SearchCriteria.of(request);
+        return smallest.idsAfter(afterId)
+                .filter(id -> {
+                    IndexedBook document = documents.get(id);
+                    return document != null && document.matches(criteria);
+                });
+    }
+
+    private Posting smallestPosting(BookSearchRequest request) {
+        List<Posting> candidates = new ArrayList<>();
+        for (long gram : grams(TITLE, request.title())) {
+            candidates.add(gramPostings.get(gram));
+        }
+        for (long gram : grams(AUTHOR, request.author())) {
+            candidates.add(gramPostings.get(gram));
+        }
+        if (StringUtils.hasText(request.isbn())) {
+            candidates.add(isbnPostings.get(request.isbn()));
+        }
+        if (request.genre() != null) {
+            candidates.add(genrePostings.get(request.genre()));
+        }
+
+        Posting smallest = null;
+        for (Posting posting : candidates) {
+            if (posting == null) {
+                return null;
+            }
+            if (smallest == null || posting.size() < smallest.size()) {
+                smallest = posting;
+            }
+        }
+        return smallest;
+    }
+
+    // The distinct grams of the lowercased text, in ascending order
+    private static long[] grams(long field, String text) {
+        if (!hasGrams(text)) {
+            return new long[0];
+        }
+        String normalized = normalize(text);
+        long[] grams = new long[normalized.length() - GRAM_LENGTH + 1];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = field | (long) normalized.charAt(i) << 40 | (long) normalized.charAt(i + 1) << 20
+                    | normalized.charAt(i + 2);
+        }
+        Arrays.sort(grams);
+        int distinct = 0;
+        for (long gram : grams) {
+            if (distinct == 0 || grams[distinct - 1] != gram) {
+                grams[distinct++] = gram;
+            }
+        }
+        return Arrays.copyOf(grams, distinct);
+    }
+
+    private static boolean hasGrams(String text) {
+        return StringUtils.hasText(text) && text.length() >= GRAM_LENGTH;
+    }
+
+    private static boolean hasWildcard(String text) {
+        return text != null && (text.indexOf('%') >= 0 || text.indexOf('_') >= 0);
+    }
+
+    private static String normalize(String text) {
+        return text == null ? null : text.toLowerCase(Locale.ROOT);
+    }
+
+    // Ids in ascending order, in sorted chunks of about CHUNK_SIZE ids. Appends write past the published length of the
+    // last chunk and every other change publishes a copy of one chunk and of the chunk array, so the snapshot a search
+    // holds never changes under it and an edit in the middle of a large posting copies a few thousand ids, not all of
+    // them. Writers run under the index lock.
+    private static final class Posting {
+
+        private static final int CHUNK_SIZE = 256;
+
+        private volatile Snapshot snapshot = new Snapshot(new long[0][], 0, 0);
+
+        int size() {
+            return snapshot.size();
+        }
+
+        Stream<Long> idsAfter(long afterId) {
+            Snapshot current = snapshot;
+            return IntStream.range(current.chunkOf(afterId), current.chunks().length)
+                    .mapToObj(chunk -> current.idsAfter(chunk, afterId))
+                    .flatMap(ids -> ids);
+        }
+
+        void add(long id) {
+            Snapshot current = snapshot;
+            long[][] chunks = current.chunks();
+            int last = chunks.length - 1;
+            if (last < 0 || id > chunks[last][current.lastLength() - 1]) {
+                append(current, id);
+                return;
+            }
+            int chunk = current.chunkOf(id);
+            int position = current.position(chunk, id);
+            if (position >= 0) {
+                return;
+            }
+            int insertAt = -position - 1;
+            int length = current.length(chunk);
+            long[] copy = new long[length + 1];
+            System.arraycopy(chunks[chunk], 0, copy, 0, insertAt);
+            copy[insertAt] = id;
+            System.arraycopy(chunks[chunk], insertAt, copy, insertAt + 1, length - insertAt);
+            replace(current, chunk, copy, current.size() + 1);
+        }
+
+        // Returns whether the posting is empty afterwards
+        boolean remove(long id) {
+            Snapshot current = snapshot;
+            if (current.size() == 0) {
+                return true;
+            }
+            int chunk = current.chunkOf(id);
+            int position = current.position(chunk, id);
+            if (position >= 0) {
+                long[] ids = current.chunks()[chunk];
+                int length = current.length(chunk);
+                long[] copy = new long[length - 1];
+                System.arraycopy(ids, 0, copy, 0, position);
+                System.arraycopy(ids, position + 1, copy, position, length - position - 1);
+                replace(current, chunk, copy, current.size() - 1);
+            }
+            return snapshot.size() == 0;
+        }
+
+        // The last chunk grows by doubling up to CHUNK_SIZE, then a new one is started
+        private void append(Snapshot current, long id) {
+            long[][] chunks = current.chunks();
+            int last = chunks.length - 1;
+            int lastLength = current.lastLength();
+            if (last >= 0 && lastLength < chunks[last].length) {
+                chunks[last][lastLength] = id;
+                snapshot = new Snapshot(chunks, lastLength + 1, current.size() + 1);
+                return;
+            }
+            long[][] grown;
+            long[] chunk;
+            if (last >= 0 && lastLength < CHUNK_SIZE) {
+                grown = chunks.clone();
+                chunk = Arrays.copyOf(chunks[last], Math.min(CHUNK_SIZE, Math.max(4, lastLength * 2)));
+            } else {
+                grown = Arrays.copyOf(chunks, chunks.length + 1);
+                chunk = new long[last < 0 ? 4 : CHUNK_SIZE];
+                lastLength = 0;
+                last++;
+            }
+            chunk[lastLength] = id;
+            grown[last] = chunk;
+            snapshot = new Snapshot(grown, lastLength + 1, current.size() + 1);
+        }
+
+        // Publishes the chunks with one of them replaced by ids, which are split in two when the chunk got twice as
+        // long as CHUNK_SIZE and dropped when it is empty. Every chunk but the last is full, so when the last one is
+        // replaced the new last one is too.
+        private void replace(Snapshot current, int chunk, long[] ids, int size) {
+            long[][] chunks = current.chunks();
+            long[][] replaced;
+            if (ids.length == 0) {
+                replaced = new long[chunks.length - 1][];
+                System.arraycopy(chunks, 0, replaced, 0, chunk);
+                System.arraycopy(chunks, chunk + 1, replaced, chunk, chunks.length - chunk - 1);
+            } else if (ids.length > 2 * CHUNK_SIZE) {
+                replaced = new long[chunks.length + 1][];
+                System.arraycopy(chunks, 0, replaced, 0, chunk);
+                replaced[chunk] = Arrays.copyOfRange(ids, 0, ids.length / 2);
+                replaced[chunk + 1] = Arrays.copyOfRange(ids, ids.length / 2, ids.length);
+                System.arraycopy(chunks, chunk + 1, replaced, chunk + 2, chunks.length - chunk - 1);
+            } else {
+                replaced = chunks.clone();
+                replaced[chunk] = ids;
+            }
+            int lastLength = chunk < chunks.length - 1 ? current.lastLength()
+                    : replaced.length == 0 ? 0 : replaced[replaced.length - 1].length;
+            snapshot = new Snapshot(replaced, lastLength, size);
+        }
+
+        // Only the first lastLength ids of the last chunk are published
+        private record Snapshot(long[][] chunks, int lastLength, int size) {
+
+            int length(int chunk) {
+                return chunk == chunks.length - 1 ? lastLength : chunks[chunk].length;
+            }
+
+            // The last chunk starting at or before the id, or the first one
+            int chunkOf(long id) {
+                int low = 0;
+                int high = chunks.length - 1;
+                while (low < high) {
+                    int middle = (low + high + 1) >>> 1;
+                    if (chunks[middle][0] <= id) {
+                        low = middle;
+                    } else {
+                        high = middle - 1;
+                    }
+                }
+                return low;
+            }
+
+            int position(int chunk, long id) {
+                return Arrays.binarySearch(chunks[chunk], 0, length(chunk), id);
+            }
+
+            Stream<Long> idsAfter(int chunk, long afterId) {
+                int position = position(chunk, afterId);
+                int from = position >= 0 ? position + 1 : -position - 1;
+                return Arrays.stream(chunks[chunk], from, length(chunk)).boxed();
+            }
+        }
+    }
+
+    private record SearchCriteria(String title, String author, String isbn, BookGenre genre) {
+
+        static SearchCriteria of(BookSearchRequest request) {
+            return new SearchCriteria(
+                    StringUtils.hasText(request.title()) ? normalize(request.title()) : null,
+                    StringUtils.hasText(request.author()) ? normalize(request.author()) : null,
+                    StringUtils.hasText(request.isbn()) ? request.isbn() : null,
+                    request.genre());
+        }
+    }
+
+    private record IndexedBook(String title, String author, String isbn, BookGenre genre) {
+
+        long[] grams() {
+            long[] titleGrams = BookSearchIndex.grams(TITLE, title);
+            long[] authorGrams = BookSearchIndex.grams(AUTHOR, author);
+            long[] grams = Arrays.copyOf(titleGrams, titleGrams.length + authorGrams.length);
+            System.arraycopy(authorGrams, 0, grams, titleGrams.length, authorGrams.length);
+            return grams;
+        }
+
+        boolean matches(SearchCriteria criteria) {
+            return (criteria.title() == null || (title != null && title.contains(criteria.title())))
+                    && (criteria.author() == null || (author != null && author.contains(criteria.author())))
+                    && (criteria.isbn() == null || criteria.isbn().equals(isbn))
+                    && (criteria.genre() == null || criteria.genre() == genre);
+        }
+    }
+}
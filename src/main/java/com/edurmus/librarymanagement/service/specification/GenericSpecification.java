@@ -8,24 +8,41 @@ import jakarta.persistence.criteria.Root;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.util.StringUtils;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
+import java.lang.reflect.RecordComponent;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 public class GenericSpecification<D, T> {
 
+    // Search plans are compiled once per DTO type, so building a specification does no reflection
+    private static final ClassValue<List<SearchableAccessor>> SEARCH_PLANS = new ClassValue<>() {
+        @Override
+        protected List<SearchableAccessor> computeValue(Class<?> type) {
+            return compileSearchPlan(type);
+        }
+    };
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
     public Specification<T> build(D example) {
-        return (root, query, builder) -> {
-            List<Predicate> predicates = new ArrayList<>();
+        List<SearchableAccessor> searchPlan = SEARCH_PLANS.get(example.getClass());
 
-            for (Field field : example.getClass().getDeclaredFields()) {
-                if (!field.isAnnotationPresent(SearchableField.class)) continue;
+        return (root, query, builder) -> {
+            List<Predicate> predicates = new ArrayList<>(searchPlan.size());
 
-                Object value = getFieldValue(field, example);
+            for (SearchableAccessor accessor : searchPlan) {
+                Object value = accessor.read(example);
                 if (isNullOrEmpty(value)) continue;
 
-                SearchableField annotation = field.getAnnotation(SearchableField.class);
-                Predicate predicate = buildPredicate(root, builder, field.getName(), value, annotation.operation());
+                Predicate predicate = buildPredicate(root, builder, accessor.name(), value, accessor.operation());
                 if (predicate != null) {
                     predicates.add(predicate);
                 }
@@ -35,10 +52,31 @@ public class GenericSpecification<D, T> {
         };
     }
 
-    private Object getFieldValue(Field field, Object instance) {
+    private static List<SearchableAccessor> compileSearchPlan(Class<?> type) {
+        Map<String, RecordComponent> recordComponents = type.isRecord()
+                ? Arrays.stream(type.getRecordComponents())
+                        .collect(Collectors.toMap(RecordComponent::getName, Function.identity()))
+                : Map.of();
+
+        List<SearchableAccessor> searchPlan = new ArrayList<>();
+        for (Field field : type.getDeclaredFields()) {
+            if (!field.isAnnotationPresent(SearchableField.class)) continue;
+
+            SearchableField annotation = field.getAnnotation(SearchableField.class);
+            MethodHandle getter = unreflectGetter(field, recordComponents.get(field.getName()));
+            searchPlan.add(new SearchableAccessor(field.getName(), getter, annotation.operation()));
+        }
+        return List.copyOf(searchPlan);
+    }
+
+    private static MethodHandle unreflectGetter(Field field, RecordComponent recordComponent) {
         try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            if (recordComponent != null) {
+                return lookup.unreflect(recordComponent.getAccessor()).asType(GETTER_TYPE);
+            }
             field.setAccessible(true);
-            return field.get(instance);
+            return lookup.unreflectGetter(field).asType(GETTER_TYPE);
         } catch (IllegalAccessException e) {
             throw new RuntimeException("Error accessing field: " + field.getName(), e);
         }
@@ -57,4 +95,15 @@ public class GenericSpecification<D, T> {
             case LESS_THAN -> builder.lessThan(root.get(fieldName), (Comparable<Object>) value);
         };
     }
+
+    private record SearchableAccessor(String name, MethodHandle getter, ComparisonOperation operation) {
+
+        Object read(Object instance) {
+            try {
+                return getter.invokeExact(instance);
+            } catch (Throwable e) {
+                throw new RuntimeException("Error accessing field: " + name, e);
+            }
+        }
+    }
 }
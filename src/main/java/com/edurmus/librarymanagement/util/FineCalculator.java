@@ -13,7 +13,11 @@ public class FineCalculator {
     private static final String FINE_PER_DAY = "2.00";
 
     public static BigDecimal calculateOverdueFine(LocalDateTime dueDateTime) {
-        long daysOverdue = ChronoUnit.DAYS.between(dueDateTime, LocalDateTime.now());
+        return calculateOverdueFine(dueDateTime, LocalDateTime.now());
+    }
+
+    public static BigDecimal calculateOverdueFine(LocalDateTime dueDateTime, LocalDateTime returnDateTime) {
+        long daysOverdue = ChronoUnit.DAYS.between(dueDateTime, returnDateTime);
         BigDecimal dailyFine = new BigDecimal(FINE_PER_DAY);
         return dailyFine.multiply(new BigDecimal(daysOverdue));
     }
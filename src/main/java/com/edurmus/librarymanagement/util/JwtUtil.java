@@ -1,6 +1,7 @@
 package com.edurmus.librarymanagement.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -8,21 +9,25 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
-import java.security.Key;
+import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.List;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Component
 public class JwtUtil {
 
-    private final Key key;
+    private final SecretKey key;
     private final long expirationTime;
+    // Immutable and thread-safe, built once instead of per claim lookup
+    private final JwtParser parser;
 
     public JwtUtil() {
         String secretKey = "your-256-bit-secret-key-here-your-256-bit-secret-key";
         this.key = Keys.hmacShaKeyFor(secretKey.getBytes());
         this.expirationTime = 3600000;
+        this.parser = Jwts.parser().verifyWith(key).build();
     }
 
     public String generateToken(UserDetails userDetails) {
@@ -35,6 +40,17 @@ public class JwtUtil {
                 .compact();
     }
 
+    /**
+     * Verifies the signature and expiry of the token and reads all claims used by the application in one pass.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, expired or not signed with our key
+     */
+    @SuppressWarnings("unchecked")
+    public VerifiedToken verify(String token) {
+        Claims claims = parseClaims(token);
+        return new VerifiedToken(claims.getSubject(), claims.getExpiration().toInstant(),
+                claims.get("roles", List.class));
+    }
 
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -49,13 +65,19 @@ public class JwtUtil {
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        Claims claims = Jwts.parser().setSigningKey(key).build().parseClaimsJws(token).getBody();
-        return claimsResolver.apply(claims);
+        return claimsResolver.apply(parseClaims(token));
     }
 
     public boolean validateToken(String token, UserDetails userDetails) {
-        return extractUsername(token).equals(userDetails.getUsername()) && !isTokenExpired(token);
+        return validateToken(verify(token), userDetails);
+    }
+
+    public boolean validateToken(VerifiedToken token, UserDetails userDetails) {
+        return token.username().equals(userDetails.getUsername()) && !token.isExpired();
     }
 
+    private Claims parseClaims(String token) {
+        return parser.parseSignedClaims(token).getPayload();
+    }
 
 }
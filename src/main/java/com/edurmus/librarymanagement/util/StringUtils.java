@@ -9,9 +9,14 @@ import java.time.format.DateTimeFormatter;
 public class StringUtils {
 
     public static String formatUserOverdueLine(User user, int count, BigDecimal totalFine) {
+        return formatUserOverdueLine(user.getFirstName(), user.getLastName(), user.getEmail(), count, totalFine);
+    }
+
+    public static String formatUserOverdueLine(String firstName, String lastName, String email, long count,
+                                               BigDecimal totalFine) {
         return " - %s (%s): %d book(s) overdue | Total fine: %.2f\n".formatted(
-                user.getFirstName() + " " + user.getLastName(),
-                user.getEmail(),
+                firstName + " " + lastName,
+                email,
                 count,
                 totalFine
         );
@@ -0,0 +1,18 @@
+package com.edurmus.librarymanagement.util;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Claims of a token whose signature has already been checked, read once per request.
+ */
+public record VerifiedToken(String username, Instant expiresAt, List<String> roles) {
+
+    public VerifiedToken {
+        roles = roles == null ? List.of() : List.copyOf(roles);
+    }
+
+    public boolean isExpired() {
+        return expiresAt.isBefore(Instant.now());
+    }
+}
@@ -4,6 +4,7 @@ import com.edurmus.librarymanagement.model.dto.request.AuthRequest;
 import com.edurmus.librarymanagement.model.dto.request.UserRequest;
 import com.edurmus.librarymanagement.model.dto.response.AuthResponse;
 import com.edurmus.librarymanagement.model.dto.response.UserResponse;
+import com.edurmus.librarymanagement.security.PasswordHashingExecutor;
 import com.edurmus.librarymanagement.service.UserService;
 import com.edurmus.librarymanagement.util.JwtUtil;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,10 +16,17 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,6 +44,9 @@ class AuthControllerTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private PasswordHashingExecutor passwordHashingExecutor;
+
     @InjectMocks
     private AuthController authController;
 
@@ -53,13 +64,21 @@ class AuthControllerTest {
         userRequest = new UserRequest("Emre", "Durmus", USERNAME, EMAIL, "05463453543", PASSWORD);
     }
 
+    private void runHashingInline() {
+        when(passwordHashingExecutor.submit(any())).thenAnswer(invocation -> {
+            Supplier<?> task = invocation.getArgument(0);
+            return CompletableFuture.supplyAsync(task, Runnable::run);
+        });
+    }
+
     @Test
     void shouldLoginSuccessfully() {
+        runHashingInline();
         UserDetails userDetails = mock(UserDetails.class);
         when(userDetailsService.loadUserByUsername(USERNAME)).thenReturn(userDetails);
         when(jwtUtil.generateToken(userDetails)).thenReturn(TOKEN);
 
-        ResponseEntity<?> response = authController.login(authRequest);
+        ResponseEntity<?> response = authController.login(authRequest).join();
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
@@ -69,17 +88,31 @@ class AuthControllerTest {
 
     @Test
     void shouldReturnInternalServerErrorWhenTokenGenerationFails() {
+        runHashingInline();
         UserDetails userDetails = mock(UserDetails.class);
         when(userDetailsService.loadUserByUsername(USERNAME)).thenReturn(userDetails);
         when(jwtUtil.generateToken(userDetails)).thenReturn(null);
 
-        ResponseEntity<?> response = authController.login(authRequest);
+        ResponseEntity<?> response = authController.login(authRequest).join();
 
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
         assertTrue(response.getBody() instanceof AuthResponse);
         assertEquals("Token generation failed", ((AuthResponse) response.getBody()).token());
     }
 
+    @Test
+    void shouldFailLogin_whenCredentialsAreInvalid() {
+        runHashingInline();
+        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+                .thenThrow(new BadCredentialsException("Bad credentials"));
+
+        CompletableFuture<ResponseEntity<?>> response = authController.login(authRequest);
+
+        CompletionException exception = assertThrows(CompletionException.class, response::join);
+        assertInstanceOf(BadCredentialsException.class, exception.getCause());
+        verifyNoInteractions(jwtUtil);
+    }
+
     @Test
     void shouldRegisterUserSuccessfully() {
         UserResponse userResponse = new UserResponse(USERNAME, EMAIL);
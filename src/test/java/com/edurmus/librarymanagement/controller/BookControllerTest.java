@@ -1,8 +1,14 @@
 package com.edurmus.librarymanagement.controller;
 
 import com.edurmus.librarymanagement.model.dto.request.BookRequest;
+import com.edurmus.librarymanagement.model.dto.response.BookImportResponse;
 import com.edurmus.librarymanagement.model.dto.response.BookResponse;
+import com.edurmus.librarymanagement.model.dto.response.CursorPageResponse;
 import com.edurmus.librarymanagement.model.enums.BookGenre;
+import com.edurmus.librarymanagement.model.enums.BookSortKey;
+import com.edurmus.librarymanagement.model.enums.ExportFormat;
+import com.edurmus.librarymanagement.model.enums.ImportFormat;
+import com.edurmus.librarymanagement.service.BookImportService;
 import com.edurmus.librarymanagement.service.BookService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,9 +19,15 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
@@ -29,6 +41,9 @@ class BookControllerTest {
     @Mock
     private BookService bookService;
 
+    @Mock
+    private BookImportService bookImportService;
+
     @InjectMocks
     private BookController bookController;
 
@@ -99,17 +114,28 @@ class BookControllerTest {
     }
 
     @Test
-    void shouldGetAllBooks() {
-        BookResponse book = createBookResponse(BOOK_ID, "Effective Java", "Joshua Bloch", "9780134685991", LocalDate.of(2018, 1, 6), 50.0, BookGenre.EDUCATION, "Best practices for Java programming", true);
+    void shouldStreamAllBooks() throws IOException {
+        ResponseEntity<StreamingResponseBody> result = bookController.getAllBooks();
 
-        List<BookResponse> books = Collections.singletonList(book);
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, result.getHeaders().getContentType());
 
-        when(bookService.getAll()).thenReturn(books);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        result.getBody().writeTo(outputStream);
+        verify(bookService).exportActiveBooks(outputStream, ExportFormat.JSON);
+    }
 
-        ResponseEntity<List<BookResponse>> result = bookController.getAllBooks();
+    @Test
+    void shouldExportBooksAsCsv() throws IOException {
+        ResponseEntity<StreamingResponseBody> result = bookController.exportBooks(ExportFormat.CSV);
 
         assertEquals(HttpStatus.OK, result.getStatusCode());
-        assertFalse(result.getBody().isEmpty());
+        assertEquals("text/csv", result.getHeaders().getContentType().toString());
+        assertTrue(result.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION).contains("books.csv"));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        result.getBody().writeTo(outputStream);
+        verify(bookService).exportActiveBooks(outputStream, ExportFormat.CSV);
     }
 
     @Test
@@ -173,4 +199,44 @@ class BookControllerTest {
 
         verify(bookService).searchBooks(any(), eq(page), eq(size));
     }
+
+    @Test
+    void shouldScrollBooksAfterCursor() {
+        BookResponse book = createBookResponse(BOOK_ID, BOOK_TITLE, AUTHOR, ISBN, PUBLISH_DATE, PRICE, BookGenre.EDUCATION, DESCRIPTION, true);
+        CursorPageResponse<BookResponse> page = new CursorPageResponse<>(List.of(book), "next-cursor", true, null);
+
+        when(bookService.scrollBooks(any(), eq(BookSortKey.TITLE), eq("cursor"), eq(10), eq(false))).thenReturn(page);
+
+        ResponseEntity<CursorPageResponse<BookResponse>> response =
+                bookController.scrollBooks("Clean", null, null, null, "cursor", BookSortKey.TITLE, 10, false);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("next-cursor", response.getBody().next());
+        assertEquals(BOOK_TITLE, response.getBody().content().get(0).title());
+    }
+
+    @Test
+    void shouldImportBooks() throws IOException {
+        ByteArrayInputStream body = new ByteArrayInputStream(new byte[0]);
+        BookImportResponse report = new BookImportResponse(2, 1, 1, List.of(), 5);
+        when(bookImportService.importBooks(body, ImportFormat.CSV)).thenReturn(report);
+
+        ResponseEntity<BookImportResponse> result =
+                bookController.importBooks(MediaType.parseMediaType("text/csv;charset=UTF-8"), null, body);
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(report, result.getBody());
+    }
+
+    @Test
+    void shouldImportBooksInTheRequestedFormat() throws IOException {
+        ByteArrayInputStream body = new ByteArrayInputStream(new byte[0]);
+        BookImportResponse report = new BookImportResponse(1, 1, 0, List.of(), 3);
+        when(bookImportService.importBooks(body, ImportFormat.NDJSON)).thenReturn(report);
+
+        ResponseEntity<BookImportResponse> result =
+                bookController.importBooks(MediaType.valueOf("text/csv"), ImportFormat.NDJSON, body);
+
+        assertEquals(report, result.getBody());
+    }
 }
@@ -1,7 +1,9 @@
 package com.edurmus.librarymanagement.controller;
 
+import com.edurmus.librarymanagement.model.dto.request.BorrowingHistoryRequest;
 import com.edurmus.librarymanagement.model.dto.response.BorrowingDTO;
 import com.edurmus.librarymanagement.model.dto.response.BorrowingSuccessResponse;
+import com.edurmus.librarymanagement.model.dto.response.CursorPageResponse;
 import com.edurmus.librarymanagement.model.dto.response.ReturnBookResponse;
 import com.edurmus.librarymanagement.model.enums.BorrowingStatus;
 import com.edurmus.librarymanagement.service.BorrowingService;
@@ -11,9 +13,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -71,25 +78,56 @@ class BorrowingControllerTest {
     @Test
     void shouldGetUserBorrowingHistory() {
         BorrowingDTO borrowingDTO = createBorrowingDTO(BORROWING_ID, BorrowingStatus.BORROWED, null);
+        LocalDateTime from = LocalDateTime.now().minusMonths(1);
 
-        when(borrowingService.getUserBorrowingHistory()).thenReturn(List.of(borrowingDTO));
+        when(borrowingService.getUserBorrowingHistory(new BorrowingHistoryRequest(from, null), 0, 20))
+                .thenReturn(new PageImpl<>(List.of(borrowingDTO)));
 
-        ResponseEntity<List<BorrowingDTO>> response = borrowingController.getUserBorrowingHistory();
+        ResponseEntity<Page<BorrowingDTO>> response = borrowingController.getUserBorrowingHistory(from, null, 0, 20);
 
         assertOkWithBody(response);
-        assertEquals(USERNAME, response.getBody().get(0).getUsername());
+        assertEquals(USERNAME, response.getBody().getContent().get(0).getUsername());
+    }
+
+    @Test
+    void shouldScrollAllBorrowingHistory() {
+        BorrowingDTO borrowingDTO = createBorrowingDTO(BORROWING_ID, BorrowingStatus.BORROWED, null);
+        CursorPageResponse<BorrowingDTO> page = new CursorPageResponse<>(List.of(borrowingDTO), "next", true, null);
+
+        when(borrowingService.scrollAllBorrowingHistory(new BorrowingHistoryRequest(null, null), null, 20))
+                .thenReturn(page);
+
+        ResponseEntity<CursorPageResponse<BorrowingDTO>> response =
+                borrowingController.scrollAllBorrowingHistory(null, null, null, 20);
+
+        assertOkWithBody(response);
+        assertEquals("next", response.getBody().next());
+        assertEquals(BOOK_TITLE, response.getBody().content().get(0).getBookTitle());
     }
 
     @Test
     void shouldGetAllBorrowingHistory() {
         BorrowingDTO borrowingDTO = createBorrowingDTO(BORROWING_ID, BorrowingStatus.BORROWED, null);
 
-        when(borrowingService.getAllBorrowingHistory()).thenReturn(List.of(borrowingDTO));
+        when(borrowingService.getAllBorrowingHistory(new BorrowingHistoryRequest(null, null), 0, 20))
+                .thenReturn(new PageImpl<>(List.of(borrowingDTO)));
 
-        ResponseEntity<List<BorrowingDTO>> response = borrowingController.getAllBorrowingHistory();
+        ResponseEntity<Page<BorrowingDTO>> response = borrowingController.getAllBorrowingHistory(null, null, 0, 20);
 
         assertOkWithBody(response);
-        assertEquals(BOOK_TITLE, response.getBody().get(0).getBookTitle());
+        assertEquals(BOOK_TITLE, response.getBody().getContent().get(0).getBookTitle());
+    }
+
+    @Test
+    void shouldExportAllBorrowingHistoryAsNdjson() throws IOException {
+        ResponseEntity<StreamingResponseBody> response = borrowingController.exportAllBorrowingHistory(null, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("application/x-ndjson", response.getHeaders().getContentType().toString());
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        response.getBody().writeTo(outputStream);
+        verify(borrowingService).exportAllBorrowingHistory(new BorrowingHistoryRequest(null, null), outputStream);
     }
 
     @Test
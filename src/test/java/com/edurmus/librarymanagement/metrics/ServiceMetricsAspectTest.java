@@ -0,0 +1,70 @@
+package com.edurmus.librarymanagement.metrics;
+
+import com.edurmus.librarymanagement.exception.book.BookSaveException;
+import com.edurmus.librarymanagement.model.dto.request.BookRequest;
+import com.edurmus.librarymanagement.model.dto.response.BookResponse;
+import com.edurmus.librarymanagement.service.BookService;
+import com.edurmus.librarymanagement.service.ReactiveBookService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import reactor.core.publisher.Mono;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ServiceMetricsAspectTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldTimeServiceMethodsPerMethod() {
+        BookService bookService = mock(BookService.class);
+        when(bookService.getById(1L)).thenReturn(new BookResponse(1L, "Title", "Author", "9780132350884", null, 10, null, null, true));
+        BookService timed = proxy(bookService);
+
+        timed.getById(1L);
+        timed.getById(1L);
+
+        Timer timer = meterRegistry.get(ServiceMetricsAspect.TIMER_NAME)
+                .tag("method", "getById")
+                .tag("exception", "none")
+                .timer();
+        assertEquals(2, timer.count());
+    }
+
+    @Test
+    void shouldTagFailedCallsWithTheException() {
+        BookService bookService = mock(BookService.class);
+        when(bookService.save(any())).thenThrow(new BookSaveException("Failed to save the book"));
+        BookService timed = proxy(bookService);
+        BookRequest request = new BookRequest("Title", "Author", "9780132350884", null, 10, "FICTION", null);
+
+        assertThrows(BookSaveException.class, () -> timed.save(request));
+
+        Timer timer = meterRegistry.get(ServiceMetricsAspect.TIMER_NAME)
+                .tag("method", "save")
+                .tag("exception", "BookSaveException")
+                .timer();
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void shouldNotTimeMethodsReturningPublishers() {
+        ReactiveBookService reactiveBookService = mock(ReactiveBookService.class);
+        when(reactiveBookService.getById(1L)).thenReturn(Mono.empty());
+
+        proxy(reactiveBookService).getById(1L);
+
+        assertNull(meterRegistry.find(ServiceMetricsAspect.TIMER_NAME).timer());
+    }
+
+    private <T> T proxy(T service) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(service);
+        factory.addAspect(new ServiceMetricsAspect(meterRegistry));
+        return factory.getProxy();
+    }
+}
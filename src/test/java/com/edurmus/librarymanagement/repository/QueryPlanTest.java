@@ -0,0 +1,196 @@
+package com.edurmus.librarymanagement.repository;
+
+import com.edurmus.librarymanagement.model.dto.request.BookSearchRequest;
+import com.edurmus.librarymanagement.model.entity.Book;
+import com.edurmus.librarymanagement.service.specification.GenericSpecification;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the repository queries against an embedded PostgreSQL migrated by Liquibase and filled by the synthetic data
+ * generator (20k patrons, 100k books, 300k borrowings), and fails when a query reads one of the large tables
+ * sequentially. Queries that return most of a table, like the unpaged book and user listings, are not covered. The
+ * overdue report joins a third of the patrons, so its plan is checked instead: it has to find the overdue borrowings
+ * through their partial index.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.username=postgres",
+        "library.synthetic-data.reference-date=2026-01-01",
+        "logging.level.org.hibernate.SQL=INFO",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.edurmus.librarymanagement.repository.QueryPlanTest$RecordingStatementInspector"
+})
+@ActiveProfiles({"dev", "synthetic-data"})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTest {
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private BookRepository bookRepository;
+    @Autowired private BorrowingRepository borrowingRepository;
+    @Autowired private UserRepository userRepository;
+
+    private Book book;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url",
+                () -> "jdbc:postgresql://localhost:" + postgres.getPort() + "/postgres?reWriteBatchedInserts=true");
+    }
+
+    @BeforeAll
+    void pickBook() {
+        book = bookRepository.findByActiveIsTrueAndIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 1)).getContent().get(0);
+    }
+
+    @AfterAll
+    void stopPostgres() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void bookQueriesShouldUseIndexes() {
+        assertNoSequentialScan("findByIsAvailableIsTrueAndActiveIsTrueAndIdGreaterThanOrderByIdAsc",
+                () -> bookRepository.findByIsAvailableIsTrueAndActiveIsTrueAndIdGreaterThanOrderByIdAsc(
+                        book.getId(), PageRequest.of(0, 100)));
+        assertNoSequentialScan("findByActiveIsTrueAndIdGreaterThanOrderByIdAsc",
+                () -> bookRepository.findByActiveIsTrueAndIdGreaterThanOrderByIdAsc(book.getId(), PageRequest.of(0, 100)));
+        assertNoSequentialScan("findExistingIsbns",
+                () -> bookRepository.findExistingIsbns(List.of(book.getIsbn(), "9780000000002", "1234567890")));
+        assertNoSequentialScan("markAsBorrowed",
+                () -> bookRepository.markAsBorrowed(book.getId(), LocalDateTime.now(), "patron1"));
+    }
+
+    @Test
+    void bookSearchShouldUseIndexes() {
+        Specification<Book> byTitle = search(new BookSearchRequest(book.getTitle(), null, null, null));
+        Specification<Book> byAuthor = search(new BookSearchRequest(null, book.getAuthor(), null, null));
+
+        assertNoSequentialScan("findAll by title", () -> bookRepository.findAll(byTitle, PageRequest.of(0, 20)));
+        assertNoSequentialScan("count by author", () -> bookRepository.count(byAuthor));
+        assertNoSequentialScan("scroll by title", () -> bookRepository.findBy(search(new BookSearchRequest(null, null, null, null)),
+                query -> query.sortBy(Sort.by("title", "id")).limit(20).scroll(ScrollPosition.keyset())));
+        assertNoSequentialScan("scroll by author after a key", () -> bookRepository.findBy(
+                search(new BookSearchRequest(null, null, null, null)),
+                query -> query.sortBy(Sort.by("author", "id")).limit(20)
+                        .scroll(ScrollPosition.forward(Map.of("author", book.getAuthor(), "id", book.getId())))));
+    }
+
+    @Test
+    void borrowingQueriesShouldUseIndexes() {
+        LocalDateTime from = LocalDateTime.of(2025, 9, 1, 0, 0);
+
+        assertNoSequentialScan("findHistory by user",
+                () -> borrowingRepository.findHistory("patron42", null, null, PageRequest.of(0, 20)));
+        assertNoSequentialScan("findHistory by date",
+                () -> borrowingRepository.findHistory(null, from, from.plusDays(1), PageRequest.of(0, 20)));
+        assertNoSequentialScan("findHistoryAfter by user",
+                () -> borrowingRepository.findHistoryAfter("patron42", null, null, 0L, PageRequest.of(0, 21)));
+        assertNoSequentialScan("streamHistory by user", () -> {
+            try (Stream<?> history = borrowingRepository.streamHistory("patron42", null, null)) {
+                history.forEach(row -> { });
+            }
+        });
+    }
+
+    @Test
+    void overdueReportShouldUseThePartialIndex() {
+        List<String> plan = explain(() -> borrowingRepository.findOverdueSummaries());
+
+        assertTrue(plan.stream().anyMatch(line -> line.contains("idx_borrowing_overdue")),
+                () -> "findOverdueSummaries does not use idx_borrowing_overdue:\n" + String.join("\n", plan));
+        assertTrue(plan.stream().noneMatch(line -> line.contains("Seq Scan on borrowing")),
+                () -> "findOverdueSummaries scans borrowing sequentially:\n" + String.join("\n", plan));
+    }
+
+    @Test
+    void userQueriesShouldUseIndexes() {
+        assertNoSequentialScan("findByUsername", () -> userRepository.findByUsername("patron7"));
+        assertNoSequentialScan("existsByEmail", () -> userRepository.existsByEmail("patron7@example.com"));
+        assertNoSequentialScan("findRoleStatusByUsername", () -> userRepository.findRoleStatusByUsername("patron7"));
+    }
+
+    // The search the book service runs, which only finds active books
+    private Specification<Book> search(BookSearchRequest request) {
+        Specification<Book> active = (root, query, builder) -> builder.isTrue(root.get("active"));
+        return active.and(new GenericSpecification<BookSearchRequest, Book>().build(request));
+    }
+
+    // Plans of the statements a repository call without parameters sends
+    private List<String> explain(Runnable repositoryCall) {
+        RecordingStatementInspector.STATEMENTS.clear();
+        transactionTemplate.executeWithoutResult(status -> repositoryCall.run());
+        return RecordingStatementInspector.STATEMENTS.stream()
+                .flatMap(sql -> jdbcTemplate.queryForList("EXPLAIN " + sql, String.class).stream())
+                .toList();
+    }
+
+    // The transaction's scan counters still include work the connection did before that was not reported yet,
+    // so the query is judged by how much they grow. Its changes are rolled back.
+    private void assertNoSequentialScan(String query, Runnable repositoryCall) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<String, Long> before = sequentialScans();
+            repositoryCall.run();
+            Map<String, Long> after = sequentialScans();
+            List<String> scanned = after.keySet().stream()
+                    .filter(table -> after.get(table) > before.get(table))
+                    .sorted()
+                    .toList();
+            assertTrue(scanned.isEmpty(), () -> query + " scanned " + scanned + " sequentially");
+            status.setRollbackOnly();
+        });
+    }
+
+    private Map<String, Long> sequentialScans() {
+        return jdbcTemplate.query("""
+                SELECT relname, seq_scan FROM pg_stat_xact_user_tables
+                WHERE relname IN ('book', 'borrowing', 'users', 'user_roles')""",
+                (ResultSet rs) -> {
+                    Map<String, Long> scans = new HashMap<>();
+                    while (rs.next()) {
+                        scans.put(rs.getString("relname"), rs.getLong("seq_scan"));
+                    }
+                    return scans;
+                });
+    }
+
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
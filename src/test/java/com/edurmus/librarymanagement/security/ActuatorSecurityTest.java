@@ -0,0 +1,48 @@
+package com.edurmus.librarymanagement.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Actuator is served on the management port only. The API port does not expose it, with or without a token.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("local")
+class ActuatorSecurityTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort private int serverPort;
+    @LocalManagementPort private int managementPort;
+
+    @Test
+    void shouldServePrometheusOnTheManagementPort() throws Exception {
+        HttpResponse<String> response = get(managementPort, "/actuator/prometheus");
+
+        assertEquals(200, response.statusCode());
+    }
+
+    @Test
+    void shouldNotServeActuatorOnTheApiPort() throws Exception {
+        assertEquals(403, get(serverPort, "/actuator/prometheus").statusCode());
+        assertEquals(403, get(serverPort, "/actuator/health").statusCode());
+    }
+
+    private HttpResponse<String> get(int port, String path) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,41 @@
+package com.edurmus.librarymanagement.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptivePasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AdaptivePasswordEncoder encoder = new AdaptivePasswordEncoder(5, meterRegistry);
+
+    @Test
+    void shouldEncodeWithConfiguredStrength() {
+        String hash = encoder.encode("secret");
+
+        assertTrue(hash.startsWith("$2a$05$"));
+        assertTrue(encoder.matches("secret", hash));
+        assertFalse(encoder.matches("other", hash));
+        assertFalse(encoder.upgradeEncoding(hash));
+    }
+
+    @Test
+    void shouldRequestRehash_whenStoredCostDiffers() {
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret")));
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("secret")));
+        assertFalse(encoder.upgradeEncoding("not-a-bcrypt-hash"));
+        assertFalse(encoder.upgradeEncoding(null));
+    }
+
+    @Test
+    void shouldRecordHashingLatency() {
+        String hash = encoder.encode("secret");
+        encoder.matches("secret", hash);
+        encoder.matches("other", hash);
+
+        assertEquals(1, meterRegistry.get(AdaptivePasswordEncoder.TIMER_NAME).tag("operation", "encode").timer().count());
+        assertEquals(2, meterRegistry.get(AdaptivePasswordEncoder.TIMER_NAME).tag("operation", "matches").timer().count());
+    }
+}
@@ -0,0 +1,103 @@
+package com.edurmus.librarymanagement.security;
+
+import com.edurmus.librarymanagement.config.UserDetailsCacheProperties;
+import com.edurmus.librarymanagement.model.entity.Role;
+import com.edurmus.librarymanagement.model.entity.User;
+import com.edurmus.librarymanagement.model.enums.UserRole;
+import com.edurmus.librarymanagement.model.event.UserChangedEvent;
+import com.edurmus.librarymanagement.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomUserDetailsTest {
+
+    private static final String USERNAME = "emre_durmus";
+
+    @Mock
+    private UserRepository userRepository;
+
+    private CustomUserDetails customUserDetails;
+
+    @BeforeEach
+    void setUp() {
+        customUserDetails = new CustomUserDetails(userRepository,
+                new UserDetailsCacheProperties(Duration.ofMinutes(5), 100), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void shouldLoadUserOnceAndHandOutIndependentCopies() {
+        when(userRepository.findByUsername(USERNAME)).thenReturn(Optional.of(user(true)));
+
+        UserDetails first = customUserDetails.loadUserByUsername(USERNAME);
+        ((CredentialsContainer) first).eraseCredentials();
+        UserDetails second = customUserDetails.loadUserByUsername(USERNAME);
+
+        assertNull(first.getPassword());
+        assertEquals("encodedPassword", second.getPassword());
+        assertEquals(List.of("ROLE_PATRON"),
+                second.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+        assertTrue(second.isEnabled());
+        verify(userRepository, times(1)).findByUsername(USERNAME);
+    }
+
+    @Test
+    void shouldReloadUser_whenUserChanged() {
+        when(userRepository.findByUsername(USERNAME))
+                .thenReturn(Optional.of(user(true)))
+                .thenReturn(Optional.of(user(false)));
+
+        assertTrue(customUserDetails.loadUserByUsername(USERNAME).isEnabled());
+        customUserDetails.onUserChanged(new UserChangedEvent(USERNAME));
+
+        assertFalse(customUserDetails.loadUserByUsername(USERNAME).isEnabled());
+        verify(userRepository, times(2)).findByUsername(USERNAME);
+    }
+
+    @Test
+    void shouldStoreRehashedPasswordAndEvictUser() {
+        when(userRepository.findByUsername(USERNAME)).thenReturn(Optional.of(user(true)));
+        UserDetails loaded = customUserDetails.loadUserByUsername(USERNAME);
+
+        UserDetails updated = customUserDetails.updatePassword(loaded, "rehashedPassword");
+        customUserDetails.loadUserByUsername(USERNAME);
+
+        assertEquals("rehashedPassword", updated.getPassword());
+        verify(userRepository).updatePassword(USERNAME, "rehashedPassword");
+        verify(userRepository, times(2)).findByUsername(USERNAME);
+    }
+
+    @Test
+    void shouldNotCacheUnknownUsers() {
+        when(userRepository.findByUsername("ghost")).thenReturn(Optional.empty());
+
+        assertThrows(UsernameNotFoundException.class, () -> customUserDetails.loadUserByUsername("ghost"));
+        assertThrows(UsernameNotFoundException.class, () -> customUserDetails.loadUserByUsername("ghost"));
+        verify(userRepository, times(2)).findByUsername("ghost");
+    }
+
+    private User user(boolean enabled) {
+        User user = new User();
+        user.setUsername(USERNAME);
+        user.setPassword("encodedPassword");
+        user.setEnabled(enabled);
+        user.setRoles(Set.of(Role.builder().userRole(UserRole.ROLE_PATRON).build()));
+        return user;
+    }
+}
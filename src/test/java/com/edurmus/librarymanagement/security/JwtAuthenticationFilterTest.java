@@ -0,0 +1,151 @@
+package com.edurmus.librarymanagement.security;
+
+import com.edurmus.librarymanagement.config.JwtAuthenticationProperties;
+import com.edurmus.librarymanagement.model.entity.Role;
+import com.edurmus.librarymanagement.model.entity.User;
+import com.edurmus.librarymanagement.model.enums.AuthenticationMode;
+import com.edurmus.librarymanagement.model.enums.UserRole;
+import com.edurmus.librarymanagement.util.JwtUtil;
+import com.edurmus.librarymanagement.util.VerifiedToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    private static final String USERNAME = "emre_durmus";
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    @Mock
+    private UserStatusCache userStatusCache;
+
+    private final JwtUtil jwtUtil = new JwtUtil();
+
+    private User user;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setUsername(USERNAME);
+        user.setRoles(Set.of(Role.builder().userRole(UserRole.ROLE_LIBRARIAN).build()));
+        token = jwtUtil.generateToken(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void claimsMode_ShouldAuthenticateFromTokenRolesWithoutLoadingUser() throws Exception {
+        when(userStatusCache.get(USERNAME))
+                .thenReturn(new UserStatusCache.UserStatus(true, Set.of("ROLE_LIBRARIAN")));
+
+        filter(AuthenticationMode.CLAIMS).doFilter(bearerRequest(), new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertEquals(USERNAME, authentication.getName());
+        assertEquals(List.of("ROLE_LIBRARIAN"),
+                authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void shouldKeepAuthenticationForAsyncDispatch() throws Exception {
+        when(userStatusCache.get(USERNAME))
+                .thenReturn(new UserStatusCache.UserStatus(true, Set.of("ROLE_LIBRARIAN")));
+        MockHttpServletRequest request = bearerRequest();
+
+        filter(AuthenticationMode.CLAIMS).doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        SecurityContextHolder.clearContext();
+
+        Authentication restored = new RequestAttributeSecurityContextRepository()
+                .loadDeferredContext(request).get().getAuthentication();
+        assertNotNull(restored);
+        assertEquals(USERNAME, restored.getName());
+    }
+
+    @Test
+    void claimsMode_ShouldRejectToken_whenUserIsDisabledOrLostRole() throws Exception {
+        when(userStatusCache.get(USERNAME))
+                .thenReturn(new UserStatusCache.UserStatus(false, Set.of("ROLE_LIBRARIAN")))
+                .thenReturn(new UserStatusCache.UserStatus(true, Set.of("ROLE_PATRON")));
+
+        filter(AuthenticationMode.CLAIMS).doFilter(bearerRequest(), new MockHttpServletResponse(), new MockFilterChain());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+
+        filter(AuthenticationMode.CLAIMS).doFilter(bearerRequest(), new MockHttpServletResponse(), new MockFilterChain());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void databaseMode_ShouldAuthenticateFromLoadedUser() throws Exception {
+        when(userDetailsService.loadUserByUsername(USERNAME)).thenReturn(user);
+
+        filter(AuthenticationMode.DATABASE).doFilter(bearerRequest(), new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertSame(user, authentication.getPrincipal());
+        verifyNoInteractions(userStatusCache);
+    }
+
+    @Test
+    void shouldContinueUnauthenticated_whenTokenSignatureIsInvalid() throws Exception {
+        token = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+        MockFilterChain filterChain = new MockFilterChain();
+
+        filter(AuthenticationMode.CLAIMS).doFilter(bearerRequest(), new MockHttpServletResponse(), filterChain);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertNotNull(filterChain.getRequest());
+        verifyNoInteractions(userStatusCache, userDetailsService);
+    }
+
+    @Test
+    void verify_ShouldReadAllClaimsOfTokenInOnePass() {
+        VerifiedToken verifiedToken = jwtUtil.verify(token);
+
+        assertEquals(USERNAME, verifiedToken.username());
+        assertEquals(List.of("ROLE_LIBRARIAN"), verifiedToken.roles());
+        assertFalse(verifiedToken.isExpired());
+        assertTrue(jwtUtil.validateToken(verifiedToken, user));
+    }
+
+    private JwtAuthenticationFilter filter(AuthenticationMode mode) {
+        JwtAuthenticationProperties properties = new JwtAuthenticationProperties(mode, Duration.ofSeconds(30), 100,
+                Duration.ofMinutes(5), 100);
+        VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(jwtUtil, properties, new SimpleMeterRegistry());
+        return new JwtAuthenticationFilter(jwtUtil, verifiedTokenCache, userDetailsService, userStatusCache, properties);
+    }
+
+    private MockHttpServletRequest bearerRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/books/1");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
@@ -0,0 +1,57 @@
+package com.edurmus.librarymanagement.security;
+
+import com.edurmus.librarymanagement.config.PasswordHashingProperties;
+import com.edurmus.librarymanagement.exception.user.LoginCapacityExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingExecutorTest {
+
+    private final PasswordHashingExecutor executor =
+            new PasswordHashingExecutor(new PasswordHashingProperties(10, 1, 1), new SimpleMeterRegistry());
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void shouldRunTasksOnHashingThreads() {
+        String threadName = executor.submit(() -> Thread.currentThread().getName()).join();
+
+        assertTrue(threadName.startsWith(PasswordHashingExecutor.EXECUTOR_NAME));
+    }
+
+    @Test
+    void shouldRejectTasks_whenPoolAndQueueAreFull() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> running = executor.submit(() -> {
+            started.countDown();
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        });
+        started.await();
+        CompletableFuture<String> queued = executor.submit(() -> "queued");
+
+        CompletableFuture<String> rejected = executor.submit(() -> "rejected");
+
+        CompletionException exception = assertThrows(CompletionException.class, rejected::join);
+        assertInstanceOf(LoginCapacityExceededException.class, exception.getCause());
+        release.countDown();
+        assertTrue(running.join());
+        assertEquals("queued", queued.join());
+    }
+}
@@ -0,0 +1,70 @@
+package com.edurmus.librarymanagement.security;
+
+import com.edurmus.librarymanagement.config.JwtAuthenticationProperties;
+import com.edurmus.librarymanagement.model.enums.AuthenticationMode;
+import com.edurmus.librarymanagement.model.enums.UserRole;
+import com.edurmus.librarymanagement.model.event.UserChangedEvent;
+import com.edurmus.librarymanagement.model.projection.UserRoleStatus;
+import com.edurmus.librarymanagement.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserStatusCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserStatusCache userStatusCache;
+
+    @BeforeEach
+    void setUp() {
+        userStatusCache = new UserStatusCache(userRepository,
+                new JwtAuthenticationProperties(AuthenticationMode.CLAIMS, Duration.ofMinutes(1), 100,
+                        Duration.ofMinutes(5), 100));
+    }
+
+    @Test
+    void shouldLoadStatusOnceUntilUserChanges() {
+        List<UserRoleStatus> librarian = List.of(roleStatus(true, UserRole.ROLE_PATRON),
+                roleStatus(true, UserRole.ROLE_LIBRARIAN));
+        List<UserRoleStatus> disabled = List.of(roleStatus(false, UserRole.ROLE_PATRON));
+        when(userRepository.findRoleStatusByUsername("emre")).thenReturn(librarian).thenReturn(disabled);
+
+        UserStatusCache.UserStatus status = userStatusCache.get("emre");
+        assertEquals(Set.of("ROLE_PATRON", "ROLE_LIBRARIAN"), status.roles());
+        assertTrue(status.allows(List.of("ROLE_LIBRARIAN")));
+        assertSame(status, userStatusCache.get("emre"));
+        verify(userRepository, times(1)).findRoleStatusByUsername("emre");
+
+        userStatusCache.onUserChanged(new UserChangedEvent("emre"));
+
+        assertFalse(userStatusCache.get("emre").allows(List.of("ROLE_PATRON")));
+        verify(userRepository, times(2)).findRoleStatusByUsername("emre");
+    }
+
+    @Test
+    void shouldNotAllowUnknownUser() {
+        when(userRepository.findRoleStatusByUsername("ghost")).thenReturn(List.of());
+
+        assertFalse(userStatusCache.get("ghost").allows(List.of()));
+    }
+
+    private UserRoleStatus roleStatus(boolean enabled, UserRole role) {
+        UserRoleStatus status = mock(UserRoleStatus.class);
+        lenient().when(status.isEnabled()).thenReturn(enabled);
+        lenient().when(status.isActive()).thenReturn(true);
+        lenient().when(status.getUserRole()).thenReturn(role);
+        return status;
+    }
+}
@@ -0,0 +1,69 @@
+package com.edurmus.librarymanagement.security;
+
+import com.edurmus.librarymanagement.config.JwtAuthenticationProperties;
+import com.edurmus.librarymanagement.model.entity.Role;
+import com.edurmus.librarymanagement.model.entity.User;
+import com.edurmus.librarymanagement.model.enums.AuthenticationMode;
+import com.edurmus.librarymanagement.model.enums.UserRole;
+import com.edurmus.librarymanagement.util.JwtUtil;
+import com.edurmus.librarymanagement.util.VerifiedToken;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class VerifiedTokenCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private JwtUtil jwtUtil;
+    private VerifiedTokenCache verifiedTokenCache;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = spy(new JwtUtil());
+        JwtAuthenticationProperties properties = new JwtAuthenticationProperties(AuthenticationMode.CLAIMS,
+                Duration.ofSeconds(30), 100, Duration.ofMinutes(5), 100);
+        verifiedTokenCache = new VerifiedTokenCache(jwtUtil, properties, meterRegistry);
+
+        User user = new User();
+        user.setUsername("emre_durmus");
+        user.setRoles(Set.of(Role.builder().userRole(UserRole.ROLE_PATRON).build()));
+        token = jwtUtil.generateToken(user);
+    }
+
+    @Test
+    void shouldVerifyReusedTokenOnceAndRecordHitsAndMisses() {
+        VerifiedToken first = verifiedTokenCache.verify(token);
+        VerifiedToken second = verifiedTokenCache.verify(token);
+
+        assertSame(first, second);
+        verify(jwtUtil, times(1)).verify(token);
+        assertEquals(1.0, cacheGets("hit"));
+        assertEquals(1.0, cacheGets("miss"));
+    }
+
+    @Test
+    void shouldNotCacheInvalidTokens() {
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> verifiedTokenCache.verify(tampered));
+        assertThrows(JwtException.class, () -> verifiedTokenCache.verify(tampered));
+        verify(jwtUtil, times(2)).verify(tampered);
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", VerifiedTokenCache.CACHE_NAME)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}
@@ -0,0 +1,169 @@
+package com.edurmus.librarymanagement.service;
+
+import com.edurmus.librarymanagement.config.BookImportProperties;
+import com.edurmus.librarymanagement.exception.book.BookImportException;
+import com.edurmus.librarymanagement.model.dto.response.BookImportResponse;
+import com.edurmus.librarymanagement.model.entity.Book;
+import com.edurmus.librarymanagement.model.enums.BookGenre;
+import com.edurmus.librarymanagement.model.enums.ImportFormat;
+import com.edurmus.librarymanagement.model.enums.ImportStrategy;
+import com.edurmus.librarymanagement.repository.BookRepository;
+import com.edurmus.librarymanagement.service.impl.BookImportServiceImpl;
+import com.edurmus.librarymanagement.service.imports.BookBatchInserter;
+import com.edurmus.librarymanagement.service.imports.SequenceIdAllocator;
+import com.edurmus.librarymanagement.service.index.BookSearchIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookImportServiceImplTest {
+
+    private static final String CSV_HEADER = "title,author,isbn,publishedDate,price,genre,description\n";
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private BookBatchInserter bookBatchInserter;
+
+    @Mock
+    private SequenceIdAllocator bookIdAllocator;
+
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BookImportServiceImpl bookImportService;
+
+    @BeforeEach
+    void setUp() {
+        AtomicLong ids = new AtomicLong(100);
+        lenient().when(bookIdAllocator.nextId()).thenAnswer(invocation -> ids.getAndIncrement());
+        bookImportService = new BookImportServiceImpl(bookRepository, bookBatchInserter, bookIdAllocator, bookSearchIndex,
+                Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper().findAndRegisterModules(),
+                transactionManager, new BookImportProperties(2, ImportStrategy.BATCH, 10));
+    }
+
+    private InputStream input(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldImportCsvInBatches() {
+        when(bookRepository.findExistingIsbns(anyList())).thenReturn(Set.of());
+        String csv = CSV_HEADER
+                + "\"Dune, Part One\",Frank Herbert,1234567890,1965-08-01,10.5,SCIENCE_FICTION,\"Says \"\"hello\"\"\"\n"
+                + "Emma,Jane Austen,1234567891,1815-12-23,8.0,ROMANCE,\n"
+                + "Ulysses,James Joyce,1234567892,1922-02-02,12.0,FICTION,\n";
+
+        BookImportResponse response = bookImportService.importBooks(input(csv), ImportFormat.CSV);
+
+        assertEquals(3, response.processed());
+        assertEquals(3, response.imported());
+        assertEquals(0, response.rejected());
+        ArgumentCaptor<List<Book>> batches = ArgumentCaptor.forClass(List.class);
+        verify(bookBatchInserter, times(2)).insert(batches.capture(), any());
+        assertEquals(2, batches.getAllValues().get(0).size());
+        Book first = batches.getAllValues().get(0).get(0);
+        assertEquals("Dune, Part One", first.getTitle());
+        assertEquals("Says \"hello\"", first.getDescription());
+        assertEquals(LocalDate.of(1965, 8, 1), first.getPublishedDate());
+        assertEquals(BookGenre.SCIENCE_FICTION, first.getGenre());
+        assertEquals(100L, first.getId());
+        verify(bookSearchIndex, times(3)).index(any(Book.class));
+        verify(bookSearchIndex, never()).rebuild();
+    }
+
+    @Test
+    void shouldRejectInvalidRowsAndImportTheRest() {
+        when(bookRepository.findExistingIsbns(anyList())).thenReturn(Set.of());
+        String ndjson = """
+                {"title":"Dune","author":"Frank Herbert","isbn":"1234567890","publishedDate":"1965-08-01","price":10.5,"genre":"FICTION"}
+                {"title":"","author":"Nobody","isbn":"12","publishedDate":"2000-01-01","price":1,"genre":"FICTION"}
+                {"title":"Dune again","author":"Frank Herbert","isbn":"1234567890","publishedDate":"1965-08-01","price":10.5,"genre":"FICTION"}
+                {"title":"Emma","author":"Jane Austen","isbn":"1234567891","publishedDate":"1815-12-23","price":8,"genre":"POETRY_SLAM"}
+                {not json
+                """;
+
+        BookImportResponse response = bookImportService.importBooks(input(ndjson), ImportFormat.NDJSON);
+
+        assertEquals(5, response.processed());
+        assertEquals(1, response.imported());
+        assertEquals(4, response.rejected());
+        assertEquals(List.of(2L, 3L, 4L, 5L), response.errors().stream().map(error -> error.line()).toList());
+        assertEquals("isbn: ISBN must be 10 or 13 digits, title: Title is required", response.errors().get(0).message());
+        assertEquals("Duplicate ISBN within the import", response.errors().get(1).message());
+        assertTrue(response.errors().get(2).message().startsWith("genre:"));
+        assertTrue(response.errors().get(3).message().startsWith("Malformed JSON"));
+    }
+
+    @Test
+    void shouldSkipBooksThatAlreadyExist() {
+        when(bookRepository.findExistingIsbns(anyList())).thenReturn(Set.of("1234567890"));
+        String csv = CSV_HEADER
+                + "Dune,Frank Herbert,1234567890,1965-08-01,10.5,FICTION,\n"
+                + "Emma,Jane Austen,1234567891,1815-12-23,8.0,ROMANCE,\n";
+
+        BookImportResponse response = bookImportService.importBooks(input(csv), ImportFormat.CSV);
+
+        assertEquals(1, response.imported());
+        assertEquals("A book with this ISBN already exists", response.errors().get(0).message());
+        verify(bookBatchInserter).insert(argThat(books -> books.size() == 1), any());
+    }
+
+    @Test
+    void shouldRetryFailedBatchRowByRow() {
+        when(bookRepository.findExistingIsbns(anyList())).thenReturn(Set.of());
+        doAnswer(invocation -> {
+            List<Book> books = invocation.getArgument(0);
+            if (books.stream().anyMatch(book -> book.getIsbn().equals("1234567891"))) {
+                throw new DataIntegrityViolationException("duplicate key");
+            }
+            return null;
+        }).when(bookBatchInserter).insert(anyList(), any());
+        String csv = CSV_HEADER
+                + "Dune,Frank Herbert,1234567890,1965-08-01,10.5,FICTION,\n"
+                + "Emma,Jane Austen,1234567891,1815-12-23,8.0,ROMANCE,\n";
+
+        BookImportResponse response = bookImportService.importBooks(input(csv), ImportFormat.CSV);
+
+        assertEquals(1, response.imported());
+        assertEquals(1, response.rejected());
+        assertEquals(3L, response.errors().get(0).line());
+        assertEquals("duplicate key", response.errors().get(0).message());
+        verify(bookSearchIndex).index(argThat(book -> book.getIsbn().equals("1234567890")));
+        verify(bookSearchIndex, never()).index(argThat(book -> book.getIsbn().equals("1234567891")));
+    }
+
+    @Test
+    void shouldFailWhenCsvHeaderIsMissingColumns() {
+        assertThrows(BookImportException.class,
+                () -> bookImportService.importBooks(input("title,author\nDune,Frank Herbert\n"), ImportFormat.CSV));
+
+        verifyNoInteractions(bookBatchInserter, bookSearchIndex);
+    }
+}
@@ -0,0 +1,149 @@
+package com.edurmus.librarymanagement.service;
+
+import com.edurmus.librarymanagement.model.dto.request.BookSearchRequest;
+import com.edurmus.librarymanagement.model.entity.Book;
+import com.edurmus.librarymanagement.model.enums.BookGenre;
+import com.edurmus.librarymanagement.repository.BookRepository;
+import com.edurmus.librarymanagement.service.index.BookSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookSearchIndexTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @InjectMocks
+    private BookSearchIndex bookSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        bookSearchIndex.index(createBook(1L, "Clean Code", "Robert C. Martin", "0132350882", BookGenre.EDUCATION));
+        bookSearchIndex.index(createBook(2L, "Clean Architecture", "Robert C. Martin", "9780134494166", BookGenre.EDUCATION));
+        bookSearchIndex.index(createBook(3L, "The Clean Coder", "Robert Martin", "0137081073", BookGenre.SCIENCE));
+    }
+
+    private Book createBook(Long id, String title, String author, String isbn, BookGenre genre) {
+        Book book = Book.builder()
+                .title(title)
+                .author(author)
+                .isbn(isbn)
+                .genre(genre)
+                .build();
+        book.setId(id);
+        book.setActive(true);
+        return book;
+    }
+
+    private List<Long> search(BookSearchRequest request) {
+        return bookSearchIndex.search(request, 0L).toList();
+    }
+
+    @Test
+    void shouldMatchTitleSubstrings() {
+        assertEquals(List.of(1L, 3L), search(new BookSearchRequest("clean cod", null, null, null)));
+        assertEquals(List.of(1L, 3L), search(new BookSearchRequest("LEAN CO", null, null, null)));
+        assertTrue(search(new BookSearchRequest("code clean", null, null, null)).isEmpty());
+    }
+
+    @Test
+    void shouldStreamMatchesAfterIdLazily() {
+        BookSearchRequest request = new BookSearchRequest(null, "martin", null, null);
+
+        assertEquals(List.of(2L, 3L), bookSearchIndex.search(request, 1L).toList());
+        assertEquals(List.of(1L), bookSearchIndex.search(request, 0L).limit(1).toList());
+    }
+
+    @Test
+    void shouldLeaveShortAndWildcardTermsToTheDatabase() {
+        assertFalse(bookSearchIndex.supports(new BookSearchRequest("cl", null, null, null)));
+        assertFalse(bookSearchIndex.supports(new BookSearchRequest("clean%code", null, null, null)));
+        assertTrue(bookSearchIndex.supports(new BookSearchRequest("cl", null, null, BookGenre.SCIENCE)));
+        assertEquals(List.of(3L), search(new BookSearchRequest("cl", null, null, BookGenre.SCIENCE)));
+    }
+
+    @Test
+    void shouldIntersectAllCriteria() {
+        List<Long> result = search(new BookSearchRequest("Clean", "martin", null, BookGenre.EDUCATION));
+
+        assertEquals(List.of(1L, 2L), result);
+    }
+
+    @Test
+    void shouldMatchIsbnExactly() {
+        assertEquals(List.of(2L), search(new BookSearchRequest(null, null, "9780134494166", null)));
+        assertTrue(search(new BookSearchRequest(null, null, "978013449", null)).isEmpty());
+    }
+
+    @Test
+    void shouldReplaceTokensOnReindex() {
+        bookSearchIndex.index(createBook(1L, "Refactoring", "Martin Fowler", "0201485672", BookGenre.EDUCATION));
+
+        assertEquals(List.of(2L, 3L), search(new BookSearchRequest("clean", null, null, null)));
+        assertEquals(List.of(1L), search(new BookSearchRequest(null, "fowler", null, null)));
+    }
+
+    @Test
+    void shouldDropRemovedAndInactiveBooks() {
+        bookSearchIndex.remove(1L);
+        Book inactive = createBook(2L, "Clean Architecture", "Robert C. Martin", "9780134494166", BookGenre.EDUCATION);
+        inactive.setActive(false);
+        bookSearchIndex.index(inactive);
+
+        assertEquals(List.of(3L), search(new BookSearchRequest("clean", null, null, null)));
+    }
+
+    @Test
+    void shouldKeepLargePostingsOrderedThroughOutOfOrderEdits() {
+        Random random = new Random(7);
+        List<Long> ids = new ArrayList<>(LongStream.rangeClosed(10, 6000).boxed().toList());
+        Collections.shuffle(ids, random);
+        TreeSet<Long> expected = new TreeSet<>(List.of(1L, 2L));
+        for (long id : ids) {
+            bookSearchIndex.index(createBook(id, "Clean Room", "Ann Lee", null, BookGenre.EDUCATION));
+            expected.add(id);
+            if (random.nextInt(4) == 0) {
+                long removed = ids.get(random.nextInt(ids.size()));
+                bookSearchIndex.remove(removed);
+                expected.remove(removed);
+            }
+        }
+        BookSearchRequest request = new BookSearchRequest(null, null, null, BookGenre.EDUCATION);
+
+        assertEquals(List.copyOf(expected), search(request));
+        assertEquals(List.copyOf(expected.tailSet(3000L, false)), bookSearchIndex.search(request, 3000L).toList());
+        assertEquals(List.copyOf(expected.tailSet(2L, false)), search(new BookSearchRequest("room", null, null, null)));
+    }
+
+    @Test
+    void shouldRebuildFromRepository() {
+        Book book = createBook(7L, "Effective Java", "Joshua Bloch", "9780134685991", BookGenre.EDUCATION);
+        when(bookRepository.findByActiveIsTrueAndIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(book)));
+
+        bookSearchIndex.rebuild();
+
+        assertTrue(bookSearchIndex.isReady());
+        assertEquals(List.of(7L), search(new BookSearchRequest("java", "bloch", null, null)));
+        assertTrue(search(new BookSearchRequest("clean", null, null, null)).isEmpty());
+    }
+}
@@ -5,10 +5,18 @@ import com.edurmus.librarymanagement.exception.book.BookSaveException;
 import com.edurmus.librarymanagement.model.dto.request.BookRequest;
 import com.edurmus.librarymanagement.model.dto.request.BookSearchRequest;
 import com.edurmus.librarymanagement.model.dto.response.BookResponse;
+import com.edurmus.librarymanagement.model.dto.response.CursorPageResponse;
 import com.edurmus.librarymanagement.model.entity.Book;
 import com.edurmus.librarymanagement.model.enums.BookGenre;
+import com.edurmus.librarymanagement.model.enums.BookSortKey;
+import com.edurmus.librarymanagement.model.enums.ExportFormat;
 import com.edurmus.librarymanagement.repository.BookRepository;
 import com.edurmus.librarymanagement.service.impl.BookServiceImpl;
+import com.edurmus.librarymanagement.service.index.BookSearchIndex;
+import com.edurmus.librarymanagement.util.CursorUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManager;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,12 +27,17 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -37,6 +50,15 @@ class BookServiceImplTest {
     @Mock
     private BookRepository bookRepository;
 
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
     @InjectMocks
     private BookServiceImpl bookService;
 
@@ -65,6 +87,7 @@ class BookServiceImplTest {
         assertNotNull(response);
         assertEquals("Test Book", response.title());
         verify(bookRepository).save(any(Book.class));
+        verify(bookSearchIndex).index(book);
         log.info("save_shouldReturnSavedBookResponse test passed.");
     }
 
@@ -121,6 +144,7 @@ class BookServiceImplTest {
 
         assertFalse(book.isActive());
         verify(bookRepository).save(book);
+        verify(bookSearchIndex).remove(1L);
         log.info("shouldSetBookInactiveToDelete test passed.");
     }
 
@@ -151,25 +175,6 @@ class BookServiceImplTest {
         log.info("shouldGetById_ThrowBookNotFoundException_whenNotFound test passed.");
     }
 
-    @Test
-    void shouldReturnListOfBookResponses() {
-        when(bookRepository.findAllByActiveIsTrue()).thenReturn(Arrays.asList(book));
-
-        List<BookResponse> list = bookService.getAll();
-
-        assertEquals(1, list.size());
-        assertEquals("Test Book", list.get(0).title());
-        log.info("shouldReturnListOfBookResponses test passed.");
-    }
-
-    @Test
-    void shouldThrowBookNotFoundException_whenErrorOccurs() {
-        when(bookRepository.findAllByActiveIsTrue()).thenThrow(RuntimeException.class);
-
-        assertThrows(BookNotFoundException.class, () -> bookService.getAll());
-        log.info("shouldThrowBookNotFoundException_whenErrorOccurs test passed.");
-    }
-
     @Test
     void shouldFindByIsAvailable_shouldReturnAvailableBooks() {
         when(bookRepository.findAllByIsAvailableIsTrueAndActiveIsTrue()).thenReturn(List.of(book));
@@ -227,5 +232,139 @@ class BookServiceImplTest {
         assertTrue(result.getContent().isEmpty());
         verify(bookRepository).findAll(any(Specification.class), eq(pageable));
     }
-}
 
+    @Test
+    void searchBooks_ShouldUseSearchIndex_WhenIndexIsReady() {
+        BookSearchRequest searchRequest = new BookSearchRequest("Java", null, null, null);
+        Book second = Book.builder().title("Java Concurrency").build();
+        second.setId(2L);
+        Book third = Book.builder().title("Effective Java").build();
+        third.setId(3L);
+
+        when(bookSearchIndex.isReady()).thenReturn(true);
+        when(bookSearchIndex.supports(searchRequest)).thenReturn(true);
+        when(bookSearchIndex.search(searchRequest, 0L)).thenAnswer(invocation -> Stream.of(2L, 3L, 5L));
+        when(bookRepository.findAllById(List.of(2L, 3L))).thenReturn(List.of(third, second));
+
+        Page<BookResponse> result = bookService.searchBooks(searchRequest, 0, 2);
+
+        assertEquals(3, result.getTotalElements());
+        assertEquals(2, result.getContent().size());
+        assertEquals("Java Concurrency", result.getContent().get(0).title());
+        assertEquals("Effective Java", result.getContent().get(1).title());
+        verify(bookRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    void scrollBooks_ShouldSeekAfterCursorInSearchIndex() {
+        BookSearchRequest searchRequest = new BookSearchRequest("Java", null, null, null);
+        Book second = Book.builder().title("Java Concurrency").build();
+        second.setId(5L);
+
+        when(bookSearchIndex.isReady()).thenReturn(true);
+        when(bookSearchIndex.supports(searchRequest)).thenReturn(true);
+        when(bookSearchIndex.search(searchRequest, 0L)).thenAnswer(invocation -> Stream.of(2L, 5L, 8L));
+        when(bookSearchIndex.search(searchRequest, 2L)).thenAnswer(invocation -> Stream.of(5L, 8L));
+        when(bookRepository.findAllById(List.of(2L))).thenReturn(List.of(book));
+        when(bookRepository.findAllById(List.of(5L))).thenReturn(List.of(second));
+
+        CursorPageResponse<BookResponse> first = bookService.scrollBooks(searchRequest, BookSortKey.ID, null, 1, true);
+        CursorPageResponse<BookResponse> next = bookService.scrollBooks(searchRequest, BookSortKey.ID, first.next(), 1, false);
+
+        assertTrue(first.hasNext());
+        assertEquals(3L, first.totalElements());
+        assertEquals("Java Concurrency", next.content().get(0).title());
+        assertTrue(next.hasNext());
+        assertNull(next.totalElements());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void scrollBooks_ShouldScrollRepositoryWithoutCount_WhenTotalNotRequested() {
+        BookSearchRequest searchRequest = new BookSearchRequest(null, "Author", null, null);
+        Book found = Book.builder().title("Java").author("Author").build();
+        found.setId(4L);
+
+        when(bookRepository.findBy(any(Specification.class), any()))
+                .thenReturn(Window.from(List.of(found), index -> ScrollPosition.keyset(), false));
+
+        CursorPageResponse<BookResponse> result = bookService.scrollBooks(searchRequest, BookSortKey.TITLE, null, 10, false);
+
+        assertEquals(1, result.content().size());
+        assertFalse(result.hasNext());
+        assertNull(result.next());
+        verify(bookRepository, never()).count(any(Specification.class));
+    }
+
+    @Test
+    void scrollBooks_ShouldRejectPageSizeBelowOne() {
+        BookSearchRequest searchRequest = new BookSearchRequest("Java", null, null, null);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> bookService.scrollBooks(searchRequest, BookSortKey.ID, null, 0, false));
+        assertThrows(IllegalArgumentException.class,
+                () -> bookService.scrollBooks(searchRequest, BookSortKey.TITLE, null, -1, false));
+        verifyNoInteractions(bookSearchIndex, bookRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void scrollBooks_ShouldCapPageSize() {
+        BookSearchRequest searchRequest = new BookSearchRequest("Java", null, null, null);
+        when(bookSearchIndex.isReady()).thenReturn(true);
+        when(bookSearchIndex.supports(searchRequest)).thenReturn(true);
+        when(bookSearchIndex.search(searchRequest, 0L)).thenAnswer(invocation -> Stream.iterate(1L, id -> id + 1));
+        ArgumentCaptor<List<Long>> pageIds = ArgumentCaptor.forClass(List.class);
+        when(bookRepository.findAllById(pageIds.capture())).thenReturn(List.of());
+
+        CursorPageResponse<BookResponse> result = bookService.scrollBooks(searchRequest, BookSortKey.ID, null,
+                1_000_000, false);
+
+        assertEquals(CursorUtils.MAX_PAGE_SIZE, pageIds.getValue().size());
+        assertTrue(result.hasNext());
+    }
+
+    @Test
+    void scrollBooks_ShouldRejectCursorOfAnotherSort() {
+        BookSearchRequest searchRequest = new BookSearchRequest("Java", null, null, null);
+        String titleCursor = CursorUtils.encode("TITLE", "4", "Java");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> bookService.scrollBooks(searchRequest, BookSortKey.AUTHOR, titleCursor, 10, false));
+    }
+
+    @Test
+    void exportActiveBooks_ShouldStreamJsonArrayAndDetachEntities() throws IOException {
+        Book second = Book.builder().title("Second, Book").author("Author").build();
+        second.setId(2L);
+        when(bookRepository.streamAllByActiveIsTrue()).thenReturn(Stream.of(book, second));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        bookService.exportActiveBooks(outputStream, ExportFormat.JSON);
+
+        String json = outputStream.toString(StandardCharsets.UTF_8);
+        assertTrue(json.startsWith("[{"));
+        assertTrue(json.endsWith("}]"));
+        assertTrue(json.contains("\"title\":\"Second, Book\""));
+        verify(entityManager).detach(book);
+        verify(entityManager).detach(second);
+    }
+
+    @Test
+    void exportActiveBooks_ShouldWriteOneLinePerBook() throws IOException {
+        Book second = Book.builder().title("Second, Book").author("Author").build();
+        second.setId(2L);
+        when(bookRepository.streamAllByActiveIsTrue()).thenReturn(Stream.of(book, second));
+
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        bookService.exportActiveBooks(ndjson, ExportFormat.NDJSON);
+        assertEquals(2, ndjson.toString(StandardCharsets.UTF_8).lines().count());
+
+        when(bookRepository.streamAllByActiveIsTrue()).thenReturn(Stream.of(book, second));
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        bookService.exportActiveBooks(csv, ExportFormat.CSV);
+        List<String> lines = csv.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(2).startsWith("2,\"Second, Book\",Author,"));
+    }
+}
@@ -0,0 +1,148 @@
+package com.edurmus.librarymanagement.service;
+
+import com.edurmus.librarymanagement.exception.book.BookNotAvailableException;
+import com.edurmus.librarymanagement.model.dto.response.BorrowingSuccessResponse;
+import com.edurmus.librarymanagement.model.entity.Book;
+import com.edurmus.librarymanagement.model.entity.Borrowing;
+import com.edurmus.librarymanagement.model.entity.User;
+import com.edurmus.librarymanagement.model.enums.BookGenre;
+import com.edurmus.librarymanagement.model.enums.BorrowingStatus;
+import com.edurmus.librarymanagement.model.enums.UserRole;
+import com.edurmus.librarymanagement.repository.BookRepository;
+import com.edurmus.librarymanagement.repository.BorrowingRepository;
+import com.edurmus.librarymanagement.repository.RoleRepository;
+import com.edurmus.librarymanagement.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Races many patrons for one hot book against the in-memory database and checks that every round has exactly one winner.
+ */
+@Slf4j
+@SpringBootTest(properties = {
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+@ActiveProfiles("local")
+class BorrowingConcurrencyTest {
+
+    private static final int PATRONS = 16;
+    private static final int ROUNDS = 50;
+
+    @Autowired private BorrowingService borrowingService;
+    @Autowired private BookRepository bookRepository;
+    @Autowired private BorrowingRepository borrowingRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private RoleRepository roleRepository;
+
+    @Test
+    void shouldNeverBorrowHotBookTwice() throws Exception {
+        Book hotBook = bookRepository.save(Book.builder()
+                .title("Hot Book")
+                .author("Popular Author")
+                .isbn("9999999999999")
+                .genre(BookGenre.FICTION)
+                .isAvailable(true)
+                .build());
+        List<String> patrons = createPatrons();
+
+        ExecutorService executor = Executors.newFixedThreadPool(PATRONS);
+        AtomicInteger rejected = new AtomicInteger();
+        long start = System.nanoTime();
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                CyclicBarrier barrier = new CyclicBarrier(PATRONS);
+                List<Future<String>> attempts = new ArrayList<>();
+                for (String patron : patrons) {
+                    attempts.add(executor.submit(() -> {
+                        authenticate(patron);
+                        barrier.await();
+                        try {
+                            BorrowingSuccessResponse response = borrowingService.borrowBook(hotBook.getId());
+                            return response.username();
+                        } catch (BookNotAvailableException e) {
+                            rejected.incrementAndGet();
+                            return null;
+                        } finally {
+                            SecurityContextHolder.clearContext();
+                        }
+                    }));
+                }
+
+                List<String> winners = new ArrayList<>();
+                for (Future<String> attempt : attempts) {
+                    String winner = attempt.get(30, TimeUnit.SECONDS);
+                    if (winner != null) {
+                        winners.add(winner);
+                    }
+                }
+                assertEquals(1, winners.size(), "Round " + round + " winners: " + winners);
+                returnHotBook(hotBook.getId(), winners.get(0));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        List<Borrowing> borrowings = borrowingRepository.findAll().stream()
+                .filter(borrowing -> borrowing.getBook().getId().equals(hotBook.getId()))
+                .toList();
+        assertEquals(ROUNDS, borrowings.size());
+        assertTrue(borrowings.stream().allMatch(borrowing -> borrowing.getStatus() == BorrowingStatus.RETURNED));
+        assertEquals(ROUNDS * (PATRONS - 1), rejected.get());
+
+        log.info("Hot book contention: {} borrow attempts by {} patrons in {} s ({} attempts/s, {} borrows/s)",
+                ROUNDS * PATRONS, PATRONS, "%.2f".formatted(seconds),
+                "%.0f".formatted(ROUNDS * PATRONS / seconds), "%.0f".formatted(ROUNDS / seconds));
+    }
+
+    private List<String> createPatrons() {
+        List<String> usernames = new ArrayList<>();
+        for (int i = 0; i < PATRONS; i++) {
+            String username = "hot_patron_" + i;
+            User user = User.builder()
+                    .username(username)
+                    .password("password")
+                    .email(username + "@example.com")
+                    .phoneNumber("0555000%04d".formatted(i))
+                    .roles(roleRepository.findByUserRole(UserRole.ROLE_PATRON))
+                    .overdueFine(BigDecimal.ZERO)
+                    .enabled(true)
+                    .build();
+            userRepository.save(user);
+            usernames.add(username);
+        }
+        return usernames;
+    }
+
+    private void returnHotBook(Long bookId, String winner) {
+        Borrowing borrowing = borrowingRepository.findAll().stream()
+                .filter(b -> b.getBook().getId().equals(bookId) && b.getReturnDate() == null)
+                .findFirst()
+                .orElseThrow();
+        authenticate(winner);
+        try {
+            borrowingService.returnBook(borrowing.getId());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, List.of()));
+    }
+}
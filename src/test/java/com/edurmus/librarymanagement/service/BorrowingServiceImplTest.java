@@ -4,7 +4,9 @@ import com.edurmus.librarymanagement.exception.book.BookAlreadyReturnedException
 import com.edurmus.librarymanagement.exception.book.BookNotAvailableException;
 import com.edurmus.librarymanagement.exception.book.BookNotFoundException;
 import com.edurmus.librarymanagement.exception.borrow.BorrowingNotFoundException;
+import com.edurmus.librarymanagement.model.dto.request.BorrowingHistoryRequest;
 import com.edurmus.librarymanagement.model.dto.response.BorrowingDTO;
+import com.edurmus.librarymanagement.model.dto.response.CursorPageResponse;
 import com.edurmus.librarymanagement.model.dto.response.BorrowingSuccessResponse;
 import com.edurmus.librarymanagement.model.dto.response.ReturnBookResponse;
 import com.edurmus.librarymanagement.model.entity.Book;
@@ -13,11 +15,16 @@ import com.edurmus.librarymanagement.model.entity.Role;
 import com.edurmus.librarymanagement.model.entity.User;
 import com.edurmus.librarymanagement.model.enums.BorrowingStatus;
 import com.edurmus.librarymanagement.model.enums.UserRole;
+import com.edurmus.librarymanagement.model.event.UserChangedEvent;
+import com.edurmus.librarymanagement.model.projection.UserOverdueSummary;
 import com.edurmus.librarymanagement.repository.BookRepository;
 import com.edurmus.librarymanagement.repository.BorrowingRepository;
 import com.edurmus.librarymanagement.repository.UserRepository;
 import com.edurmus.librarymanagement.service.impl.BorrowingServiceImpl;
+import com.edurmus.librarymanagement.util.CursorUtils;
 import com.edurmus.librarymanagement.util.SecurityUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.catalina.security.SecurityUtil;
 import org.junit.jupiter.api.AfterEach;
@@ -29,15 +36,24 @@ import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -49,14 +65,18 @@ class BorrowingServiceImplTest {
     @Mock private BookRepository bookRepository;
     @Mock private BorrowingRepository borrowingRepository;
     @Mock private UserRepository userRepository;
+    @Mock private ApplicationEventPublisher eventPublisher;
 
     @Spy
     @InjectMocks
     private BorrowingServiceImpl borrowingService;
 
+    private static final BorrowingHistoryRequest NO_FILTER = new BorrowingHistoryRequest(null, null);
+
     @BeforeEach
     void setUp() {
-        borrowingService = new BorrowingServiceImpl(bookRepository, borrowingRepository, userRepository);
+        borrowingService = new BorrowingServiceImpl(bookRepository, borrowingRepository, userRepository,
+                new ObjectMapper().registerModule(new JavaTimeModule()), eventPublisher);
 
         User user = new User();
         user.setUsername("emre");
@@ -93,30 +113,30 @@ class BorrowingServiceImplTest {
         book.setAvailable(true);
 
         when(userRepository.findByUsername("emre")).thenReturn(Optional.of(user));
+        when(bookRepository.markAsBorrowed(eq(1L), any(LocalDateTime.class), eq("emre"))).thenReturn(1);
         when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
-        when(bookRepository.save(any())).thenReturn(book);
         when(borrowingRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
 
 
         BorrowingSuccessResponse result = borrowingService.borrowBook(1L);
 
         assertNotNull(result);
+        verify(bookRepository, never()).save(any());
         log.info("shouldBorrowBookSuccessfully passed.");
     }
 
     @Test
     void shouldThrowBookNotFoundException_whenBookNotFound() {
-        when(bookRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(bookRepository.markAsBorrowed(anyLong(), any(LocalDateTime.class), any())).thenReturn(0);
+        when(bookRepository.existsById(anyLong())).thenReturn(false);
 
         assertThrows(BookNotFoundException.class, () -> borrowingService.borrowBook(1L));
     }
 
     @Test
     void shouldThrowBookNotAvailableException_whenBookUnavailable() {
-        Book book = new Book();
-        book.setAvailable(false);
-
-        when(bookRepository.findById(anyLong())).thenReturn(Optional.of(book));
+        when(bookRepository.markAsBorrowed(anyLong(), any(LocalDateTime.class), any())).thenReturn(0);
+        when(bookRepository.existsById(anyLong())).thenReturn(true);
 
         assertThrows(BookNotAvailableException.class, () -> borrowingService.borrowBook(1L));
     }
@@ -199,7 +219,6 @@ class BorrowingServiceImplTest {
         when(borrowingRepository.findById(1L)).thenReturn(Optional.of(borrowing));
         when(bookRepository.save(any())).thenReturn(book);
         when(borrowingRepository.save(any())).thenReturn(borrowing);
-        when(borrowingRepository.countByUserIdAndReturnDateAfterDueDate(1L)).thenReturn(1L);
         when(userRepository.save(any())).thenReturn(user);
 
 
@@ -207,6 +226,8 @@ class BorrowingServiceImplTest {
 
         assertEquals(BorrowingStatus.OVERDUE, borrowing.getStatus());
         assertTrue(response.isOverdue());
+        assertEquals(1, user.getOverdueCount());
+        assertTrue(user.isEnabled());
         log.info("shouldReturnBookAsOverdue_whenOverdue passed.");
     }
 
@@ -219,21 +240,80 @@ class BorrowingServiceImplTest {
 
     @Test
     void shouldReturnUserBorrowingHistory() {
-        User user = new User();
-        user.setUsername("emre");
-
-        Borrowing borrowing = new Borrowing();
-        when(borrowingRepository.findByUser(user)).thenReturn(List.of(borrowing));
-        when(userRepository.findByUsername("emre")).thenReturn(Optional.of(user));
+        BorrowingDTO borrowing = BorrowingDTO.builder().id(1L).username("emre").bookTitle("Test Book").build();
+        when(borrowingRepository.findHistory(eq("emre"), isNull(), isNull(), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(borrowing)));
 
-        List<BorrowingDTO> history = borrowingService.getUserBorrowingHistory();
+        Page<BorrowingDTO> history = borrowingService.getUserBorrowingHistory(NO_FILTER, 0, 20);
 
-        assertFalse(history.isEmpty());
-        assertEquals(1, history.size());
+        assertEquals(1, history.getTotalElements());
+        assertEquals("Test Book", history.getContent().get(0).getBookTitle());
+        verify(userRepository, never()).findByUsername(anyString());
 
         log.info("shouldReturnUserBorrowingHistory passed.");
     }
 
+    @Test
+    void shouldScrollUserBorrowingHistoryAfterCursor() {
+        List<BorrowingDTO> rows = List.of(
+                BorrowingDTO.builder().id(4L).build(),
+                BorrowingDTO.builder().id(7L).build(),
+                BorrowingDTO.builder().id(9L).build());
+        when(borrowingRepository.findHistoryAfter("emre", null, null, 3L, PageRequest.of(0, 3))).thenReturn(rows);
+
+        CursorPageResponse<BorrowingDTO> firstPage = borrowingService.scrollUserBorrowingHistory(NO_FILTER,
+                CursorUtils.encode("3"), 2);
+
+        assertEquals(2, firstPage.content().size());
+        assertTrue(firstPage.hasNext());
+        assertNull(firstPage.totalElements());
+
+        when(borrowingRepository.findHistoryAfter("emre", null, null, 7L, PageRequest.of(0, 3)))
+                .thenReturn(List.of(rows.get(2)));
+        CursorPageResponse<BorrowingDTO> lastPage = borrowingService.scrollUserBorrowingHistory(NO_FILTER,
+                firstPage.next(), 2);
+
+        assertEquals(9L, lastPage.content().get(0).getId());
+        assertFalse(lastPage.hasNext());
+        assertNull(lastPage.next());
+    }
+
+    @Test
+    void shouldThrowIllegalArgumentException_whenHistoryPageSizeIsBelowOne() {
+        assertThrows(IllegalArgumentException.class,
+                () -> borrowingService.getUserBorrowingHistory(NO_FILTER, 0, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> borrowingService.scrollUserBorrowingHistory(NO_FILTER, null, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> borrowingService.getAllBorrowingHistory(NO_FILTER, 0, -1));
+        assertThrows(IllegalArgumentException.class,
+                () -> borrowingService.scrollAllBorrowingHistory(NO_FILTER, null, 0));
+        verifyNoInteractions(borrowingRepository);
+    }
+
+    @Test
+    void shouldCapHistoryScrollPageSize() {
+        when(borrowingRepository.findHistoryAfter(null, null, null, 0L, PageRequest.of(0, CursorUtils.MAX_PAGE_SIZE + 1)))
+                .thenReturn(List.of(new BorrowingDTO()));
+
+        CursorPageResponse<BorrowingDTO> history = borrowingService.scrollAllBorrowingHistory(NO_FILTER, null,
+                1_000_000);
+
+        assertFalse(history.hasNext());
+    }
+
+    @Test
+    void shouldThrowIllegalArgumentException_whenHistoryDateRangeIsEmpty() {
+        LocalDateTime now = LocalDateTime.now();
+        BorrowingHistoryRequest historyRequest = new BorrowingHistoryRequest(now, now.minusDays(1));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> borrowingService.getAllBorrowingHistory(historyRequest, 0, 20));
+        assertThrows(IllegalArgumentException.class,
+                () -> borrowingService.scrollAllBorrowingHistory(NO_FILTER, "not a cursor", 20));
+        verifyNoInteractions(borrowingRepository);
+    }
+
     @Test
     void shouldThrowBookAlreadyReturnedException_whenBookAlreadyReturned() {
         Borrowing borrowing = new Borrowing();
@@ -254,6 +334,7 @@ class BorrowingServiceImplTest {
         user.setId(1L);
         user.setUsername("emre");
         user.setOverdueFine(BigDecimal.ZERO);
+        user.setOverdueCount(1);
         user.setEnabled(true);
 
         borrowing.setBook(book);
@@ -263,14 +344,15 @@ class BorrowingServiceImplTest {
         when(borrowingRepository.findById(1L)).thenReturn(Optional.of(borrowing));
         when(bookRepository.save(any())).thenReturn(book);
         when(borrowingRepository.save(any())).thenReturn(borrowing);
-        when(borrowingRepository.countByUserIdAndReturnDateAfterDueDate(1L)).thenReturn(2L);
         when(userRepository.save(any())).thenReturn(user);
 
         ReturnBookResponse response = borrowingService.returnBook(1L);
 
         assertFalse(user.isEnabled());
+        assertEquals(2, user.getOverdueCount());
         assertEquals(BorrowingStatus.OVERDUE, borrowing.getStatus());
         assertTrue(response.isOverdue());
+        verify(eventPublisher).publishEvent(new UserChangedEvent("emre"));
     }
 
 
@@ -278,31 +360,52 @@ class BorrowingServiceImplTest {
 
     @Test
     void shouldReturnAllBorrowingHistory() {
-        when(borrowingRepository.findAll()).thenReturn(List.of(new Borrowing()));
+        LocalDateTime from = LocalDateTime.now().minusMonths(1);
+        BorrowingHistoryRequest historyRequest = new BorrowingHistoryRequest(from, null);
+        when(borrowingRepository.findHistory(null, from, null, PageRequest.of(1, 500)))
+                .thenReturn(new PageImpl<>(List.of(new BorrowingDTO())));
 
-        List<BorrowingDTO> history = borrowingService.getAllBorrowingHistory();
+        Page<BorrowingDTO> history = borrowingService.getAllBorrowingHistory(historyRequest, 1, 10_000);
 
         assertFalse(history.isEmpty());
+        verify(borrowingRepository, never()).findAll();
         log.info("shouldReturnAllBorrowingHistory passed.");
     }
 
     @Test
-    void shouldGenerateOverdueReportSuccessfully() {
-        Borrowing borrowing = new Borrowing();
+    void shouldExportAllBorrowingHistoryAsNdjson() throws IOException {
+        when(borrowingRepository.streamHistory(null, null, null)).thenReturn(Stream.of(
+                BorrowingDTO.builder().id(1L).username("emre").bookTitle("First").build(),
+                BorrowingDTO.builder().id(2L).username("emre").bookTitle("Second")
+                        .dueDate(LocalDateTime.of(2025, 1, 15, 10, 0)).build()));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        borrowingService.exportAllBorrowingHistory(NO_FILTER, outputStream);
+
+        List<String> lines = outputStream.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).startsWith("{\"id\":1,"));
+        assertTrue(lines.get(1).contains("\"bookTitle\":\"Second\""));
+    }
 
-        User user = new User();
-        user.setFirstName("Emre");
-        user.setLastName("Durmus");
-        user.setEmail("emredurmus@example.com");
-        borrowing.setUser(user);
+    @Test
+    void shouldGenerateOverdueReportSuccessfully() {
+        UserOverdueSummary summary = mock(UserOverdueSummary.class);
+        when(summary.getFirstName()).thenReturn("Emre");
+        when(summary.getLastName()).thenReturn("Durmus");
+        when(summary.getEmail()).thenReturn("emredurmus@example.com");
+        when(summary.getOverdueCount()).thenReturn(2L);
+        when(summary.getTotalFine()).thenReturn(new BigDecimal("14.00"));
 
-        when(borrowingRepository.findByReturnDateAfterAndDueDate())
-                .thenReturn(List.of(borrowing));
+        when(borrowingRepository.findOverdueSummaries()).thenReturn(List.of(summary));
 
         String report = borrowingService.generateOverdueReport();
 
         assertTrue(report.contains("OVERDUE BOOK REPORT"));
+        assertTrue(report.contains("Total Overdue Books: 2"));
+        assertTrue(report.contains("Total Users with Overdues: 1"));
         assertTrue(report.contains("emredurmus@example.com"));
+        assertTrue(report.contains("2 book(s) overdue | Total fine: 14.00"));
         log.info("shouldGenerateOverdueReportSuccessfully passed.");
     }
 }
@@ -0,0 +1,130 @@
+package com.edurmus.librarymanagement.service;
+
+import com.edurmus.librarymanagement.config.ReactiveBookProperties;
+import com.edurmus.librarymanagement.exception.book.BookSaveException;
+import com.edurmus.librarymanagement.model.dto.request.BookRequest;
+import com.edurmus.librarymanagement.model.entity.Book;
+import com.edurmus.librarymanagement.model.entity.ReactiveBook;
+import com.edurmus.librarymanagement.repository.ReactiveBookRepository;
+import com.edurmus.librarymanagement.service.impl.R2dbcReactiveBookServiceImpl;
+import com.edurmus.librarymanagement.service.index.BookSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class R2dbcReactiveBookServiceImplTest {
+
+    @Mock
+    private ReactiveBookRepository reactiveBookRepository;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+
+    private R2dbcReactiveBookServiceImpl reactiveBookService;
+
+    private final Pageable batch = PageRequest.of(0, 2);
+
+    @BeforeEach
+    void setUp() {
+        reactiveBookService = new R2dbcReactiveBookServiceImpl(reactiveBookRepository, transactionalOperator,
+                bookSearchIndex, new ReactiveBookProperties(2, 1, Duration.ZERO));
+    }
+
+    private ReactiveBook createBook(Long id, String title) {
+        ReactiveBook book = new ReactiveBook();
+        book.setId(id);
+        book.setTitle(title);
+        return book;
+    }
+
+    private BookRequest createRequest() {
+        return new BookRequest("Title", "Author", "1234567890", LocalDate.of(2020, 1, 1), 10.0, "FICTION", null);
+    }
+
+    @Test
+    void shouldQueryNextBatchOnlyWhenRequested() {
+        when(reactiveBookRepository.findByActiveIsTrueAndIdGreaterThanOrderByIdAsc(0L, batch))
+                .thenReturn(Flux.just(createBook(1L, "First"), createBook(2L, "Second")));
+        when(reactiveBookRepository.findByActiveIsTrueAndIdGreaterThanOrderByIdAsc(2L, batch))
+                .thenReturn(Flux.just(createBook(3L, "Third")));
+
+        StepVerifier.create(reactiveBookService.getAll(), 1)
+                .expectNextMatches(book -> book.title().equals("First"))
+                .then(() -> verify(reactiveBookRepository, never()).findByActiveIsTrueAndIdGreaterThanOrderByIdAsc(eq(2L), any()))
+                .thenRequest(2)
+                .expectNextMatches(book -> book.title().equals("Second"))
+                .expectNextMatches(book -> book.title().equals("Third"))
+                .verifyComplete();
+
+        verify(reactiveBookRepository, times(2)).findByActiveIsTrueAndIdGreaterThanOrderByIdAsc(anyLong(), any());
+    }
+
+    @Test
+    void shouldSaveAvailableBookAndIndexIt() {
+        when(reactiveBookRepository.save(any(ReactiveBook.class))).thenAnswer(invocation -> {
+            ReactiveBook book = invocation.getArgument(0);
+            book.setId(7L);
+            return Mono.just(book);
+        });
+
+        StepVerifier.create(reactiveBookService.save(createRequest()))
+                .expectNextMatches(book -> book.id() == 7L && book.available())
+                .verifyComplete();
+
+        ArgumentCaptor<Book> indexed = ArgumentCaptor.forClass(Book.class);
+        verify(bookSearchIndex).index(indexed.capture());
+        assertEquals(7L, indexed.getValue().getId());
+        assertTrue(indexed.getValue().isActive());
+    }
+
+    @Test
+    void shouldFailUpdate_whenBookDoesNotExist() {
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(reactiveBookRepository.findById(5L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(reactiveBookService.update(5L, createRequest()))
+                .expectError(BookSaveException.class)
+                .verify();
+
+        verify(reactiveBookRepository, never()).save(any(ReactiveBook.class));
+        verifyNoInteractions(bookSearchIndex);
+    }
+
+    @Test
+    void shouldDeactivateBookAndRemoveItFromIndex() {
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(reactiveBookRepository.findById(3L)).thenReturn(Mono.just(createBook(3L, "Third")));
+        when(reactiveBookRepository.save(any(ReactiveBook.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(reactiveBookService.deleteById(3L))
+                .verifyComplete();
+
+        ArgumentCaptor<ReactiveBook> saved = ArgumentCaptor.forClass(ReactiveBook.class);
+        verify(reactiveBookRepository).save(saved.capture());
+        assertFalse(saved.getValue().isActive());
+        assertNotNull(saved.getValue().getUpdatedAt());
+        verify(bookSearchIndex).remove(3L);
+    }
+}
@@ -0,0 +1,106 @@
+package com.edurmus.librarymanagement.service;
+
+import com.edurmus.librarymanagement.config.ReactiveBookProperties;
+import com.edurmus.librarymanagement.exception.book.BookNotFoundException;
+import com.edurmus.librarymanagement.model.entity.Book;
+import com.edurmus.librarymanagement.repository.BookRepository;
+import com.edurmus.librarymanagement.service.impl.ReactiveBookServiceImpl;
+import com.edurmus.librarymanagement.service.index.BookSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveBookServiceImplTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+
+    private ReactiveBookServiceImpl reactiveBookService;
+
+    private final Pageable batch = PageRequest.of(0, 2);
+
+    @BeforeEach
+    void setUp() {
+        reactiveBookService = new ReactiveBookServiceImpl(bookRepository, Schedulers.immediate(),
+                new ReactiveBookProperties(2, 1, Duration.ZERO), bookSearchIndex);
+    }
+
+    private Book createBook(Long id, String title) {
+        Book book = Book.builder().title(title).isAvailable(true).build();
+        book.setId(id);
+        return book;
+    }
+
+    @Test
+    void shouldFetchNextBatchOnlyWhenRequested() {
+        when(bookRepository.findByActiveIsTrueAndIdGreaterThanOrderByIdAsc(0L, batch))
+                .thenReturn(new SliceImpl<>(List.of(createBook(1L, "First"), createBook(2L, "Second")), batch, true));
+        when(bookRepository.findByActiveIsTrueAndIdGreaterThanOrderByIdAsc(2L, batch))
+                .thenReturn(new SliceImpl<>(List.of(createBook(3L, "Third")), batch, false));
+
+        StepVerifier.create(reactiveBookService.getAll(), 1)
+                .expectNextMatches(book -> book.title().equals("First"))
+                .then(() -> verify(bookRepository, never()).findByActiveIsTrueAndIdGreaterThanOrderByIdAsc(eq(2L), any()))
+                .thenRequest(2)
+                .expectNextMatches(book -> book.title().equals("Second"))
+                .expectNextMatches(book -> book.title().equals("Third"))
+                .thenRequest(1)
+                .verifyComplete();
+
+        verify(bookRepository, times(2)).findByActiveIsTrueAndIdGreaterThanOrderByIdAsc(anyLong(), any());
+    }
+
+    @Test
+    void shouldCompleteWithoutElements_whenNoBookIsAvailable() {
+        when(bookRepository.findByIsAvailableIsTrueAndActiveIsTrueAndIdGreaterThanOrderByIdAsc(0L, batch))
+                .thenReturn(new SliceImpl<>(List.of(), batch, false));
+
+        StepVerifier.create(reactiveBookService.findByIsAvailable())
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldMapRepositoryErrorsToBookNotFoundException() {
+        when(bookRepository.findByActiveIsTrueAndIdGreaterThanOrderByIdAsc(0L, batch))
+                .thenThrow(new IllegalStateException("connection lost"));
+
+        StepVerifier.create(reactiveBookService.getAll())
+                .expectError(BookNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void shouldApplyConfiguredEmitInterval() {
+        reactiveBookService = new ReactiveBookServiceImpl(bookRepository, Schedulers.immediate(),
+                new ReactiveBookProperties(2, 1, Duration.ofSeconds(1)), bookSearchIndex);
+        when(bookRepository.findByActiveIsTrueAndIdGreaterThanOrderByIdAsc(0L, batch))
+                .thenReturn(new SliceImpl<>(List.of(createBook(1L, "First"), createBook(2L, "Second")), batch, false));
+
+        StepVerifier.withVirtualTime(() -> reactiveBookService.getAll())
+                .expectSubscription()
+                .expectNoEvent(Duration.ofSeconds(1))
+                .expectNextCount(1)
+                .thenAwait(Duration.ofSeconds(1))
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,35 @@
+package com.edurmus.librarymanagement.service;
+
+import com.edurmus.librarymanagement.service.imports.SequenceIdAllocator;
+import org.hibernate.dialect.H2Dialect;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SequenceIdAllocatorTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldHandOutWholeBlockPerSequenceValue() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(1L, 101L);
+        SequenceIdAllocator allocator = new SequenceIdAllocator(jdbcTemplate, new H2Dialect(), "book_seq", 50);
+
+        long[] ids = LongStream.range(0, 51).map(i -> allocator.nextId()).toArray();
+
+        assertArrayEquals(LongStream.rangeClosed(1, 50).toArray(), LongStream.of(ids).limit(50).toArray());
+        assertEquals(101L, ids[50]);
+        verify(jdbcTemplate, times(2)).queryForObject(contains("book_seq"), eq(Long.class));
+    }
+}
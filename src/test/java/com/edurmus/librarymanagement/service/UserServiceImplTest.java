@@ -10,6 +10,7 @@ import com.edurmus.librarymanagement.model.dto.response.UserRoleResponse;
 import com.edurmus.librarymanagement.model.entity.Role;
 import com.edurmus.librarymanagement.model.entity.User;
 import com.edurmus.librarymanagement.model.enums.UserRole;
+import com.edurmus.librarymanagement.model.event.UserChangedEvent;
 import com.edurmus.librarymanagement.model.mapper.UserMapper;
 import com.edurmus.librarymanagement.repository.RoleRepository;
 import com.edurmus.librarymanagement.repository.UserRepository;
@@ -19,6 +20,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.List;
@@ -48,6 +50,9 @@ class UserServiceImplTest {
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Test
     void shouldRegisterUser() {
         UserRequest request = new UserRequest("Emre", "Durmus", "emre_durmus", "emre@example.com",  "05463453543","sifre123");;
@@ -121,6 +126,7 @@ class UserServiceImplTest {
         Long userId = 1L;
         User existingUser = new User();
         existingUser.setId(userId);
+        existingUser.setUsername("old_username");
 
         UserRequest request = new UserRequest("Emre", "Durmus", "emre_durmus", "emre@example.com",  "05463453543","sifre123");;
 
@@ -135,6 +141,7 @@ class UserServiceImplTest {
 
         assertThat(result).isNotNull();
         verify(userRepository).save(existingUser);
+        verify(eventPublisher).publishEvent(new UserChangedEvent("old_username"));
         log.info("User updated successfully");
     }
 
@@ -143,6 +150,7 @@ class UserServiceImplTest {
         Long userId = 1L;
         User user = new User();
         user.setId(userId);
+        user.setUsername("emre_durmus");
 
         UserRoleRequest roleRequest = new UserRoleRequest("ROLE_LIBRARIAN");
 
@@ -155,6 +163,7 @@ class UserServiceImplTest {
 
         assertThat(result).isNotNull();
         verify(userRepository).save(user);
+        verify(eventPublisher).publishEvent(new UserChangedEvent("emre_durmus"));
         log.info("User role updated successfully");
     }
 
@@ -205,6 +214,7 @@ class UserServiceImplTest {
 
         assertThat(user.isActive()).isFalse();
         verify(userRepository).save(user);
+        verify(eventPublisher).publishEvent(any(UserChangedEvent.class));
         log.info("User deleted (inactive) successfully");
     }
 